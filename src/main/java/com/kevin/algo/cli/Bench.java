@@ -0,0 +1,193 @@
+package com.kevin.algo.cli;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import com.kevin.algo.data.CsvDataFeed;
+import com.kevin.algo.data.DataFeed;
+import com.kevin.algo.data.SyntheticDataFeed;
+import com.kevin.algo.data.SyntheticMarket;
+import com.kevin.algo.data.Universe;
+import com.kevin.algo.engine.BacktestEngine;
+import com.kevin.algo.engine.CrossSectionalEngine;
+import com.kevin.algo.indicators.Momentum;
+import com.kevin.algo.indicators.SMA;
+import com.kevin.algo.portfolio.MultiPortfolio;
+import com.kevin.algo.portfolio.Portfolio;
+import com.kevin.algo.risk.RollingCovariance;
+import com.kevin.algo.strategy.MovingAverageCrossover;
+
+/**
+ * Bench
+ * -----
+ * Quick wall-clock benchmarks for the heavier engine paths, on generated data.
+ *
+ * mvn -q clean package -DskipTests
+ * java -cp target/algo-backtester-java-1.0.0-jar-with-dependencies.jar com.kevin.algo.cli.Bench xsection 3000 5000
+ * java -cp target/algo-backtester-java-1.0.0-jar-with-dependencies.jar com.kevin.algo.cli.Bench ingest 100 100000
+ * java -cp target/algo-backtester-java-1.0.0-jar-with-dependencies.jar com.kevin.algo.cli.Bench risk 500 2520 63
+ */
+public class Bench {
+
+    public static void main(String[] args) {
+        String which = args.length > 0 ? args[0] : "xsection";
+        switch (which) {
+            case "xsection" -> crossSection(intArg(args, 1, 3000), intArg(args, 2, 5000));
+            case "ingest" -> ingest(intArg(args, 1, 100), intArg(args, 2, 100_000));
+            case "risk" -> risk(intArg(args, 1, 500), intArg(args, 2, 2520), intArg(args, 3, 63));
+            default -> System.out.println("Unknown benchmark: " + which);
+        }
+    }
+
+    /** Top-50 by 6-month momentum, monthly rebalance, over a random-walk universe. */
+    private static void crossSection(int symbols, int dates) {
+        long t0 = System.nanoTime();
+        Universe u = randomWalkUniverse(symbols, dates, 42L);
+        long t1 = System.nanoTime();
+
+        MultiPortfolio pf = new MultiPortfolio(symbols, 1_000_000.0, 1.0, 0.0);
+        CrossSectionalEngine.Output out = new CrossSectionalEngine().run(u, new Momentum(126), 50, 21, pf);
+        long t2 = System.nanoTime();
+
+        System.out.printf("xsection: %d symbols x %d dates%n", symbols, dates);
+        System.out.printf("  build universe : %6d ms%n", (t1 - t0) / 1_000_000);
+        System.out.printf("  rank + backtest: %6d ms (%d rebalances, %d orders, final equity %.2f)%n",
+                (t2 - t1) / 1_000_000, out.rebalances.size(), out.orders, out.finalEquity);
+    }
+
+    /**
+     * Generator → CSV on disk → CsvDataFeed → BacktestEngine, plus the file-free path
+     * (SyntheticDataFeed straight into BacktestEngine) for comparison.
+     */
+    private static void ingest(int symbols, int bars) {
+        SyntheticMarket market = new SyntheticMarket(42L);
+        Path dir;
+        try {
+            dir = Files.createTempDirectory("algo-bench");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create temp dir", e);
+        }
+        long total = (long) symbols * bars;
+
+        long t0 = System.nanoTime();
+        market.writeCsvDirectory(dir, symbols, bars);
+        long t1 = System.nanoTime();
+        long bytes = 0;
+        for (int s = 0; s < symbols; s++) {
+            Path f = dir.resolve(SyntheticMarket.symbolName(s) + ".csv");
+            try { bytes += Files.size(f); } catch (IOException ignored) {}
+        }
+
+        double csvEquity = 0;
+        for (int s = 0; s < symbols; s++) {
+            Path f = dir.resolve(SyntheticMarket.symbolName(s) + ".csv");
+            csvEquity += backtest(new CsvDataFeed(f.toString()));
+            try { Files.delete(f); } catch (IOException ignored) {}
+        }
+        long t2 = System.nanoTime();
+
+        double memEquity = 0;
+        for (int s = 0; s < symbols; s++) memEquity += backtest(market.feed(s, bars));
+        long t3 = System.nanoTime();
+        try { Files.delete(dir); } catch (IOException ignored) {}
+
+        System.out.printf("ingest: %d symbols x %d bars = %d bars%n", symbols, bars, total);
+        System.out.printf("  write csv          : %6d ms (%.1f MB/s, %.1f M bars/s)%n", (t1 - t0) / 1_000_000,
+                bytes / 1e6 / ((t1 - t0) / 1e9), total / 1e6 / ((t1 - t0) / 1e9));
+        System.out.printf("  csv -> backtest    : %6d ms (%.1f M bars/s)%n", (t2 - t1) / 1_000_000,
+                total / 1e6 / ((t2 - t1) / 1e9));
+        System.out.printf("  memory -> backtest : %6d ms (%.1f M bars/s)%n", (t3 - t2) / 1_000_000,
+                total / 1e6 / ((t3 - t2) / 1e9));
+        System.out.printf("  same result both paths: %b%n", csvEquity == memEquity);
+    }
+
+    /**
+     * RollingCovariance over generated daily returns (default 500 assets × 10 years, 63-bar window),
+     * timed against one from-scratch recomputation (correctness lives in RollingCovarianceTest).
+     */
+    private static void risk(int assets, int bars, int window) {
+        SyntheticMarket market = new SyntheticMarket(42L);
+        SyntheticDataFeed[] feeds = new SyntheticDataFeed[assets];
+        for (int s = 0; s < assets; s++) feeds[s] = market.feed(s, bars + 1L);
+        double[] prev = new double[assets];
+        double[][] returns = new double[bars][assets];
+        for (int s = 0; s < assets; s++) prev[s] = feeds[s].next().getClose();
+        for (int t = 0; t < bars; t++) {
+            for (int s = 0; s < assets; s++) {
+                double c = feeds[s].next().getClose();
+                returns[t][s] = c / prev[s] - 1.0;
+                prev[s] = c;
+            }
+        }
+
+        RollingCovariance cov = new RollingCovariance(assets, window);
+        long t0 = System.nanoTime();
+        for (double[] r : returns) cov.update(r);
+        long t1 = System.nanoTime();
+
+        // naive: rebuild the full matrix from the last window, as a per-bar cost reference
+        double[][] naive = new double[assets][assets];
+        double[] mean = new double[assets];
+        for (int t = bars - window; t < bars; t++) {
+            for (int i = 0; i < assets; i++) mean[i] += returns[t][i] / window;
+        }
+        for (int i = 0; i < assets; i++) {
+            for (int j = i; j < assets; j++) {
+                double acc = 0;
+                for (int t = bars - window; t < bars; t++) acc += (returns[t][i] - mean[i]) * (returns[t][j] - mean[j]);
+                naive[i][j] = acc / (window - 1);
+            }
+        }
+        long t2 = System.nanoTime();
+
+        double[] w = new double[assets];
+        Arrays.fill(w, 1.0 / assets);
+        long t3 = System.nanoTime();
+        double vol = Math.sqrt(cov.portfolioVariance(w) * 252.0);
+        long t4 = System.nanoTime();
+
+        System.out.printf("risk: %d assets x %d bars, window %d%n", assets, bars, window);
+        System.out.printf("  incremental    : %6d ms total, %.3f ms/bar%n", (t1 - t0) / 1_000_000, (t1 - t0) / 1e6 / bars);
+        System.out.printf("  naive (1 bar)  : %.3f ms/bar -> ~%d ms for the whole history%n",
+                (t2 - t1) / 1e6, (long) ((t2 - t1) / 1e6 * bars));
+        System.out.printf("  equal-weight annual vol %.2f%% in %.3f ms%n", vol * 100.0, (t4 - t3) / 1e6);
+    }
+
+    /** SMA(10/30) crossover on one feed; returns final equity. */
+    private static double backtest(DataFeed feed) {
+        Portfolio pf = new Portfolio(10_000.0, 0.0, 0.0);
+        BacktestEngine.Output out = new BacktestEngine()
+                .run(feed, new SMA(10), new SMA(30), new MovingAverageCrossover(), pf);
+        return pf.finalEquity(out.lastClose);
+    }
+
+    private static Universe randomWalkUniverse(int symbols, int dates, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        LocalDate[] days = new LocalDate[dates];
+        String[] names = new String[symbols];
+        double[] closes = new double[dates * symbols];
+        for (int s = 0; s < symbols; s++) names[s] = "SYM" + s;
+        LocalDate d = LocalDate.of(2000, 1, 3);
+        for (int t = 0; t < dates; t++) {
+            days[t] = d;
+            d = d.plusDays(1);
+        }
+        for (int s = 0; s < symbols; s++) closes[s] = 50.0 + 50.0 * rnd.nextDouble();
+        for (int t = 1; t < dates; t++) {
+            int row = t * symbols, prev = row - symbols;
+            for (int s = 0; s < symbols; s++) {
+                closes[row + s] = closes[prev + s] * (1.0 + 0.0003 + 0.02 * (rnd.nextDouble() - 0.5));
+            }
+        }
+        return new Universe(days, names, closes);
+    }
+
+    private static int intArg(String[] args, int i, int fallback) {
+        try { return args.length > i ? Integer.parseInt(args[i]) : fallback; }
+        catch (NumberFormatException e) { return fallback; }
+    }
+}
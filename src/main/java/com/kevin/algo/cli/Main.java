@@ -4,6 +4,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 import com.google.gson.Gson;
@@ -11,12 +12,25 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.TypeAdapter;    
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
+import com.kevin.algo.core.Candle;
+import com.kevin.algo.data.CandleArrayFeed;
 import com.kevin.algo.data.CsvDataFeed;
 import com.kevin.algo.data.DataFeed;
+import com.kevin.algo.data.ResampledView;
+import com.kevin.algo.data.SyntheticMarket;
+import com.kevin.algo.data.Universe;
 import com.kevin.algo.engine.BacktestEngine;
+import com.kevin.algo.engine.CrossSectionalEngine;
+import com.kevin.algo.indicators.Momentum;
 import com.kevin.algo.indicators.SMA;
+import com.kevin.algo.optimize.Metric;
+import com.kevin.algo.optimize.SuccessiveHalving;
+import com.kevin.algo.portfolio.MultiPortfolio;
 import com.kevin.algo.portfolio.Portfolio;
+import com.kevin.algo.risk.RiskLimits;
 import com.kevin.algo.strategy.MovingAverageCrossover;
+import com.kevin.algo.sweep.SweepCoordinator;
+import com.kevin.algo.sweep.SweepGrid;
 
 /**
  * Main.java (Milestone 2)
@@ -66,8 +80,33 @@ public class Main {
         double cash = tryParseDouble(flags.get("cash"), 10000.0);
         double fee  = tryParseDouble(flags.get("fee"), 0.0);
         double slip = tryParseDouble(flags.get("slip"), 0.0);
+        int maxPoints = tryParseInt(flags.get("max-points"), 0);
+        ResampledView htf = ResampledView.parse(flags.get("htf"));
+        int htfSma = tryParseInt(flags.get("htf-sma"), 10);
 
-        
+        // Generator mode: write seeded synthetic CSVs instead of running a backtest
+        if (flags.containsKey("generate")) {
+            runGenerate(flags);
+            return;
+        }
+
+        // Optimizer mode: successive halving over (fast, slow) on one CSV
+        if (flags.containsKey("optimize")) {
+            runOptimize(flags, csv, cash, fee, slip);
+            return;
+        }
+
+        // Sweep mode: fan a parameter grid out to worker JVMs
+        if (flags.containsKey("sweep")) {
+            runSweep(flags, cash, fee, slip);
+            return;
+        }
+
+        // Cross-sectional mode: rank a whole directory of CSVs per date
+        if (flags.containsKey("universe")) {
+            runCrossSection(flags, cash, fee, slip);
+            return;
+        }
 
         // 2️⃣ Validate CSV
         Path csvPath = Path.of(csv).toAbsolutePath();
@@ -78,20 +117,41 @@ public class Main {
             System.out.println(GSON.toJson(response));
             return;
         }
+        if (flags.containsKey("htf") && htf == null) {
+            // don't silently fall back to an unfiltered backtest
+            response.put("ok", false);
+            response.put("error", "Unknown --htf value: " + flags.get("htf") + " (use weekly, monthly or a positive bar count)");
+            System.out.println(GSON.toJson(response));
+            return;
+        }
+        if (htf != null && htfSma < 1) {
+            // an SMA that is never ready keeps the trend filter shut: ok, 0 trades
+            response.put("ok", false);
+            response.put("error", "--htf-sma must be at least 1, got " + htfSma);
+            System.out.println(GSON.toJson(response));
+            return;
+        }
         // 3️⃣ Init components
         DataFeed feed = new CsvDataFeed(csvPath.toString());
         SMA smaFast = new SMA(fast);
         SMA smaSlow = new SMA(slow);
         MovingAverageCrossover strat = new MovingAverageCrossover();
         Portfolio pf = new Portfolio(cash, fee, slip);
-        BacktestEngine engine = new BacktestEngine();
+        BacktestEngine engine = new BacktestEngine(maxPoints);
+        if (htf != null) {
+            // confirm daily crossovers with the higher-timeframe trend, same pass over the CSV
+            SMA trendSma = new SMA(htfSma);
+            htf.attach(trendSma);
+            strat = new MovingAverageCrossover(htf, trendSma);
+            engine.addTimeframe(htf);
+        }
 
         // 4️⃣ Run engine
         BacktestEngine.Output out = engine.run(feed, smaFast, smaSlow, strat, pf);
         // 5️⃣ Compute simple metrics
-        int barsRead = out.series.size();
+        int barsRead = out.barsRead;
         int trades = pf.closedTrades().size();
-        double finalEquity = pf.finalEquity(out.series.get(barsRead - 1).close);
+        double finalEquity = pf.finalEquity(out.lastClose);
         double totalReturnPct = (finalEquity / cash - 1.0) * 100.0;
 
         Map<String, Object> metrics = new HashMap<>();
@@ -108,6 +168,11 @@ public class Main {
         params.put("cash", cash);
         params.put("fee", fee);
         params.put("slip", slip);
+        params.put("maxPoints", maxPoints);
+        if (htf != null) {
+            params.put("htf", htf.label());
+            params.put("htfSma", htfSma);
+        }
 
         response.put("ok", true);
         response.put("message", "Backtest complete");
@@ -121,8 +186,290 @@ public class Main {
         System.out.println(GSON.toJson(response));
     }
 
+    /**
+     * --universe DIR --top 50 --lookback 126 --skip 0 --rebalance 21
+     *   [--target-vol 0.15 --max-weight 0.05 --max-gross 1.0 --risk-window 63]
+     * Every *.csv in DIR is one symbol; holds the top N by momentum, equal-weighted.
+     * Risk flags scale each rebalance's exposure from a rolling covariance of returns.
+     */
+    private static void runCrossSection(Map<String, String> flags, double cash, double fee, double slip) {
+        String dir = flags.get("universe");
+        int top = tryParseInt(flags.get("top"), 50);
+        int lookback = tryParseInt(flags.get("lookback"), 126);
+        int skip = tryParseInt(flags.get("skip"), 0);
+        int rebalance = tryParseInt(flags.get("rebalance"), 21);
+        double targetVol = tryParseDouble(flags.get("target-vol"), 0.0);
+        double maxWeight = tryParseDouble(flags.get("max-weight"), 0.0);
+        double maxGross = tryParseDouble(flags.get("max-gross"), 1.0);
+        int riskWindow = tryParseInt(flags.get("risk-window"), 63);
+        RiskLimits limits = (targetVol > 0 || maxWeight > 0 || maxGross < 1.0)
+                ? new RiskLimits(targetVol, maxGross, maxWeight) : null;
+
+        Map<String, Object> response = new HashMap<>();
+        if (!Files.isDirectory(Path.of(dir))) {
+            response.put("ok", false);
+            response.put("error", "Universe directory not found: " + Path.of(dir).toAbsolutePath());
+            System.out.println(GSON.toJson(response));
+            return;
+        }
+
+        String invalid = top < 1 ? "--top must be at least 1"
+                : lookback < 1 ? "--lookback must be at least 1"
+                : skip < 0 || skip >= lookback ? "--skip must be between 0 and lookback - 1"
+                : rebalance < 1 ? "--rebalance must be at least 1"
+                : limits != null && riskWindow < 2 ? "--risk-window must be at least 2"
+                : null;
+        if (invalid != null) {
+            response.put("ok", false);
+            response.put("error", invalid);
+            System.out.println(GSON.toJson(response));
+            return;
+        }
+
+        Universe universe;
+        MultiPortfolio pf;
+        CrossSectionalEngine.Output out;
+        try {
+            universe = Universe.fromCsvDirectory(dir);
+            pf = new MultiPortfolio(universe.symbolCount(), cash, fee, slip);
+            out = new CrossSectionalEngine()
+                    .run(universe, new Momentum(lookback, skip), top, rebalance, pf, limits, riskWindow);
+        } catch (IllegalArgumentException e) {
+            response.put("ok", false);
+            response.put("error", "Cross-sectional backtest failed: " + e.getMessage());
+            System.out.println(GSON.toJson(response));
+            return;
+        }
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("symbols", universe.symbolCount());
+        metrics.put("dates", universe.dateCount());
+        metrics.put("orders", out.orders);
+        metrics.put("totalReturnPct", (out.finalEquity / cash - 1.0) * 100.0);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("universe", dir);
+        params.put("top", top);
+        params.put("lookback", lookback);
+        params.put("skip", skip);
+        params.put("rebalance", rebalance);
+        if (limits != null) {
+            params.put("targetVol", targetVol);
+            params.put("maxWeight", maxWeight);
+            params.put("maxGross", maxGross);
+            params.put("riskWindow", riskWindow);
+        }
+        params.put("cash", cash);
+        params.put("fee", fee);
+        params.put("slip", slip);
+
+        response.put("ok", true);
+        response.put("message", "Cross-sectional backtest complete");
+        response.put("params", params);
+        response.put("metrics", metrics);
+        response.put("rebalances", out.rebalances);
+        response.put("equity", out.equity);
+        System.out.println(GSON.toJson(response));
+    }
+
+    /**
+     * --generate DIR --symbols 10 --bars 5000 --seed 42
+     * Writes SYM00000.csv.. in the layout CsvDataFeed reads; same seed → same files.
+     */
+    private static void runGenerate(Map<String, String> flags) {
+        String dir = flags.get("generate");
+        int symbols = tryParseInt(flags.get("symbols"), 10);
+        long bars = tryParseLong(flags.get("bars"), 5000L);
+        long seed = tryParseLong(flags.get("seed"), 42L);
+
+        Map<String, Object> response = new HashMap<>();
+        if (dir == null || dir.isBlank()) {
+            // Path.of("") is the working directory: never scatter SYM*.csv files there by accident
+            response.put("ok", false);
+            response.put("error", "--generate needs an output directory");
+            System.out.println(GSON.toJson(response));
+            return;
+        }
+        long t0 = System.nanoTime();
+        try {
+            new SyntheticMarket(seed).writeCsvDirectory(Path.of(dir), symbols, bars);
+        } catch (RuntimeException e) {
+            response.put("ok", false);
+            response.put("error", "Generate failed: " + e.getMessage());
+            System.out.println(GSON.toJson(response));
+            return;
+        }
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("generate", dir);
+        params.put("symbols", symbols);
+        params.put("bars", bars);
+        params.put("seed", seed);
+
+        response.put("ok", true);
+        response.put("message", "Generated " + (symbols * bars) + " bars in " + ms + " ms");
+        response.put("params", params);
+        System.out.println(GSON.toJson(response));
+    }
+
+    /**
+     * --sweep --csv a.csv,b.csv --fast-range 2:20 --slow-range 10:60 --workers 4 --chunk 0 --top 20
+     * Every (csv, fast, slow) with fast < slow is backtested across worker JVMs.
+     */
+    private static void runSweep(Map<String, String> flags, double cash, double fee, double slip) {
+        String[] csvs = flags.getOrDefault("csv", "").split(",");
+        int[] fastRange = parseRange(flags.get("fast-range"), 2, 20);
+        int[] slowRange = parseRange(flags.get("slow-range"), 10, 60);
+        int workers = tryParseInt(flags.get("workers"), Math.max(1, Runtime.getRuntime().availableProcessors()));
+        int chunk = tryParseInt(flags.get("chunk"), 0);
+        int top = tryParseInt(flags.get("top"), 20);
+
+        Map<String, Object> response = new HashMap<>();
+        for (int i = 0; i < csvs.length; i++) {
+            Path p = Path.of(csvs[i].trim()).toAbsolutePath();
+            if (!Files.exists(p)) {
+                response.put("ok", false);
+                response.put("error", "CSV not found: " + p);
+                System.out.println(GSON.toJson(response));
+                return;
+            }
+            csvs[i] = p.toString();
+        }
+
+        SweepCoordinator coordinator;
+        SweepCoordinator.Report report;
+        try {
+            // the grid rejects empty or out-of-order ranges, so build it inside the try as well
+            SweepGrid grid = new SweepGrid(csvs, fastRange[0], fastRange[1], slowRange[0], slowRange[1]);
+            coordinator = new SweepCoordinator(grid, cash, fee, slip);
+            report = coordinator.run(workers, chunk);
+        } catch (Exception e) {
+            response.put("ok", false);
+            response.put("error", "Sweep failed: " + e.getMessage());
+            System.out.println(GSON.toJson(response));
+            return;
+        }
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("jobs", report.jobs);
+        metrics.put("chunks", report.chunks);
+        metrics.put("chunkSize", report.chunkSize);
+        metrics.put("chunksStolen", report.chunksStolen);
+        metrics.put("chunksRequeued", report.chunksRequeued);
+        metrics.put("workersLost", report.workersLost);
+        metrics.put("elapsedMs", report.elapsedMs);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("csv", String.join(",", csvs));
+        params.put("fastRange", fastRange);
+        params.put("slowRange", slowRange);
+        params.put("workers", workers);
+        params.put("cash", cash);
+        params.put("fee", fee);
+        params.put("slip", slip);
+
+        response.put("ok", true);
+        response.put("message", "Sweep complete");
+        response.put("params", params);
+        response.put("metrics", metrics);
+        response.put("results", coordinator.top(report, top));
+        System.out.println(GSON.toJson(response));
+    }
+
+    /**
+     * --optimize --csv FILE --fast-range 2:30 --slow-range 5:120 --metric return|sharpe|calmar
+     *   --eta 3 --min-bars 0 --max-dd 0.5 --threads N [--compare-grid]
+     * Prunes losing (fast, slow) pairs on short prefixes and lets survivors run longer.
+     */
+    private static void runOptimize(Map<String, String> flags, String csv, double cash, double fee, double slip) {
+        int[] fastRange = parseRange(flags.get("fast-range"), 2, 30);
+        int[] slowRange = parseRange(flags.get("slow-range"), 5, 120);
+        Metric metric = Metric.parse(flags.get("metric"), Metric.RETURN);
+        int eta = Math.max(2, tryParseInt(flags.get("eta"), 3));
+        int minBars = tryParseInt(flags.get("min-bars"), 0);
+        double maxDd = tryParseDouble(flags.get("max-dd"), 0.0);
+        int threads = tryParseInt(flags.get("threads"), Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> response = new HashMap<>();
+        Path csvPath = Path.of(csv).toAbsolutePath();
+        if (!Files.exists(csvPath)) {
+            response.put("ok", false);
+            response.put("error", "CSV not found: " + csvPath);
+            System.out.println(GSON.toJson(response));
+            return;
+        }
+
+
+        // every (fast, slow) with fast < slow in the two ranges; an empty set would report ok with nothing found
+        String invalid = flags.containsKey("metric") && Metric.parse(flags.get("metric"), null) == null
+                        ? "Unknown --metric value: " + flags.get("metric") + " (use return, sharpe or calmar)"
+                : fastRange[0] < 1 ? "--fast-range must start at 1 or more"
+                : fastRange[1] < fastRange[0] ? "--fast-range is reversed: " + fastRange[0] + ":" + fastRange[1]
+                : slowRange[1] < slowRange[0] ? "--slow-range is reversed: " + slowRange[0] + ":" + slowRange[1]
+                : slowRange[1] <= fastRange[0] ? "--slow-range must reach past the fast range (slow SMA longer than fast)"
+                : null;
+        if (invalid != null) {
+            response.put("ok", false);
+            response.put("error", invalid);
+            System.out.println(GSON.toJson(response));
+            return;
+        }
+
+        Candle[] history = CandleArrayFeed.load(new CsvDataFeed(csvPath.toString()));
+        SuccessiveHalving opt = new SuccessiveHalving(history, cash, fee, slip, metric, eta, minBars, maxDd, threads);
+        try {
+            SuccessiveHalving.Report report = opt.run(fastRange[0], fastRange[1], slowRange[0], slowRange[1]);
+            response.put("report", report);
+            if (flags.containsKey("compare-grid")) {
+                SuccessiveHalving.GridReport grid = opt.runGrid(fastRange[0], fastRange[1], slowRange[0], slowRange[1]);
+                response.put("grid", grid);
+                response.put("sameBest", grid.found == report.found
+                        && grid.bestFast == report.bestFast && grid.bestSlow == report.bestSlow);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.put("ok", false);
+            response.put("error", "Optimizer interrupted");
+            System.out.println(GSON.toJson(response));
+            return;
+        } catch (IllegalArgumentException e) {
+            response.put("ok", false);
+            response.put("error", "Optimizer failed: " + e.getMessage());
+            System.out.println(GSON.toJson(response));
+            return;
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("csv", csv);
+        params.put("fastRange", fastRange);
+        params.put("slowRange", slowRange);
+        params.put("metric", metric.name().toLowerCase(Locale.ROOT));
+        params.put("eta", eta);
+        params.put("minBars", minBars);
+        params.put("maxDd", maxDd);
+        params.put("threads", threads);
+        params.put("cash", cash);
+        params.put("fee", fee);
+        params.put("slip", slip);
+
+        response.put("ok", true);
+        response.put("message", "Optimization complete");
+        response.put("params", params);
+        System.out.println(GSON.toJson(response));
+    }
+
     /** ---------------- Utility helpers ------------------ */
 
+    /** "2:20" → {2, 20}; a single number means {n, n}. */
+    private static int[] parseRange(String s, int lo, int hi) {
+        if (s == null || s.isEmpty()) return new int[] { lo, hi };
+        String[] parts = s.split(":");
+        int a = tryParseInt(parts[0].trim(), lo);
+        int b = parts.length > 1 ? tryParseInt(parts[1].trim(), hi) : a;
+        return new int[] { a, b };
+    }
+
     private static Map<String, String> parseArgs(String[] args) {
         Map<String, String> map = new HashMap<>();
         for (int i = 0; i < args.length; i++) {
@@ -144,6 +491,11 @@ public class Main {
         catch (NumberFormatException e) { return fallback; }
     }
 
+    private static long tryParseLong(String s, long fallback) {
+        try { return (s == null || s.isEmpty()) ? fallback : Long.parseLong(s); }
+        catch (NumberFormatException e) { return fallback; }
+    }
+
     private static double tryParseDouble(String s, double fallback) {
         try { return (s == null || s.isEmpty()) ? fallback : Double.parseDouble(s); }
         catch (NumberFormatException e) { return fallback; }
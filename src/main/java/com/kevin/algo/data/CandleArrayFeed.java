@@ -0,0 +1,51 @@
+package com.kevin.algo.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kevin.algo.core.Candle;
+
+/**
+ * CandleArrayFeed
+ * ---------------
+ * Replays already-loaded candles (optionally a [from, to) slice) as a DataFeed.
+ * Lets many backtests share one parsed history instead of re-reading the CSV.
+ */
+public class CandleArrayFeed implements DataFeed {
+
+    private final Candle[] candles;
+    private final int to;
+    private final int from;
+    private int idx;
+
+    public CandleArrayFeed(Candle[] candles) { this(candles, 0, candles.length); }
+
+    public CandleArrayFeed(Candle[] candles, int from, int to) {
+        if (from < 0 || to > candles.length || from > to) {
+            throw new IndexOutOfBoundsException("from=" + from + ", to=" + to + ", length=" + candles.length);
+        }
+        this.candles = candles;
+        this.from = from;
+        this.to = to;
+        this.idx = from;
+    }
+
+    /** Drains a feed into an array so it can be replayed. */
+    public static Candle[] load(DataFeed feed) {
+        List<Candle> list = new ArrayList<>();
+        while (feed.hasNext()) list.add(feed.next());
+        return list.toArray(new Candle[0]);
+    }
+
+    @Override
+    public boolean hasNext() { return idx < to; }
+
+    @Override
+    public Candle next() {
+        if (!hasNext()) throw new IllegalStateException("No more rows");
+        return candles[idx++];
+    }
+
+    @Override
+    public long sizeHint() { return to - from; }
+}
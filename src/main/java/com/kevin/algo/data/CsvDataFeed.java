@@ -123,6 +123,12 @@ public class CsvDataFeed implements DataFeed {
         return c;
     }
 
+    /** All rows are parsed up front, so the total is known */
+    @Override
+    public long sizeHint() {
+        return candles.size();
+    }
+
     /** Convert a CSVRecord into a Candle object */
     private Candle toCandle(CSVRecord r) {
         LocalDate date = parseDate(r.get(colDate));
@@ -10,8 +10,11 @@ import com.kevin.algo.core.Candle;
  *
  * hasNext(): are there more bars?
  * next()   : return the next Candle (and advance the cursor)
+ * sizeHint(): total number of bars if known up front, otherwise -1
  */
 public interface DataFeed {
     boolean hasNext();
     Candle next();
+
+    default long sizeHint() { return -1; }
 }
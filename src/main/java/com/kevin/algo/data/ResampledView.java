@@ -0,0 +1,138 @@
+package com.kevin.algo.data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.kevin.algo.core.Candle;
+import com.kevin.algo.indicators.Indicator;
+
+/**
+ * ResampledView
+ * -------------
+ * Higher-timeframe bars (weekly, monthly, every N bars) built incrementally
+ * from the base Candle stream. Nothing is copied or re-parsed: each base bar
+ * updates one running OHLCV bucket, O(1) per bar.
+ *
+ * No look-ahead:
+ *  • lastClosed() only returns buckets that are finished.
+ *  • A weekly/monthly bucket is finished when the first bar of the *next*
+ *    week/month arrives (holidays make "is this Friday the last bar?" unknowable).
+ *  • An N-bar bucket is finished on its N-th bar's close.
+ *  • forming() is the partial bucket up to and including the current bar.
+ *
+ * Indicators attached with attach() are fed each finished bucket, e.g. a 10-week SMA.
+ *
+ * accumulate(bar): ingest the next base bar; true if a bucket just finished
+ */
+public class ResampledView {
+
+    public enum Kind { WEEKLY, MONTHLY, BARS }
+
+    private final Kind kind;
+    private final int barsPerBucket;
+    private final List<Indicator> attached = new ArrayList<>();
+
+    // running bucket
+    private long key = Long.MIN_VALUE;
+    private int count = 0;
+    private LocalDate date;
+    private double open, high, low, close;
+    private long volume;
+
+    private Candle lastClosed;
+    private int closedCount = 0;
+
+    private ResampledView(Kind kind, int barsPerBucket) {
+        this.kind = kind;
+        this.barsPerBucket = barsPerBucket;
+    }
+
+    public static ResampledView weekly()  { return new ResampledView(Kind.WEEKLY, 0); }
+    public static ResampledView monthly() { return new ResampledView(Kind.MONTHLY, 0); }
+
+    public static ResampledView everyBars(int n) {
+        if (n <= 0) throw new IllegalArgumentException("n must be > 0");
+        return new ResampledView(Kind.BARS, n);
+    }
+
+    /** "weekly" / "monthly" / a bar count like "5"; null if not recognised. */
+    public static ResampledView parse(String s) {
+        if (s == null || s.isEmpty()) return null;
+        switch (s.trim().toLowerCase(Locale.ROOT)) {
+            case "weekly", "w", "1w" -> { return weekly(); }
+            case "monthly", "m", "1m" -> { return monthly(); }
+            default -> {
+                try { return everyBars(Integer.parseInt(s.trim())); }
+                catch (IllegalArgumentException e) { return null; }
+            }
+        }
+    }
+
+    /** Feed each finished bucket to {@code ind} (its accumulate gets the resampled Candle). */
+    public ResampledView attach(Indicator ind) {
+        attached.add(ind);
+        return this;
+    }
+
+    public boolean accumulate(Candle bar) {
+        boolean closed = false;
+        if (kind != Kind.BARS) {
+            long k = periodKey(bar.getDate());
+            if (count > 0 && k != key) {
+                closeBucket();
+                closed = true;
+            }
+            key = k;
+        }
+
+        if (count == 0) {
+            date = bar.getDate();
+            open = bar.getOpen();
+            high = bar.getHigh();
+            low = bar.getLow();
+            volume = 0;
+        } else {
+            if (bar.getHigh() > high) high = bar.getHigh();
+            if (bar.getLow() < low) low = bar.getLow();
+        }
+        close = bar.getClose();
+        volume += bar.getVolume();
+        count++;
+
+        if (kind == Kind.BARS && count == barsPerBucket) {
+            closeBucket();
+            closed = true;
+        }
+        return closed;
+    }
+
+    /** Most recent finished bucket (dated by its first bar), or null before the first one. */
+    public Candle lastClosed() { return lastClosed; }
+
+    /** The bucket still being built, including the current bar; null right after a close. */
+    public Candle forming() {
+        return count == 0 ? null : new Candle(date, open, high, low, close, volume);
+    }
+
+    public int closedCount() { return closedCount; }
+    public Kind kind()       { return kind; }
+
+    public String label() {
+        return kind == Kind.BARS ? barsPerBucket + "bars" : kind.name().toLowerCase(Locale.ROOT);
+    }
+
+    private void closeBucket() {
+        lastClosed = new Candle(date, open, high, low, close, volume);
+        closedCount++;
+        count = 0;
+        for (Indicator ind : attached) ind.accumulate(lastClosed);
+    }
+
+    /** Weeks start on Monday (epoch day 0 was a Thursday); months are year * 12 + month. */
+    private long periodKey(LocalDate d) {
+        if (kind == Kind.WEEKLY) return Math.floorDiv(d.toEpochDay() + 3, 7);
+        return d.getYear() * 12L + d.getMonthValue();
+    }
+}
@@ -0,0 +1,122 @@
+package com.kevin.algo.data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+import com.kevin.algo.core.Candle;
+
+/**
+ * SyntheticDataFeed
+ * -----------------
+ * Streams generated bars for one symbol of a {@link SyntheticMarket}.
+ * Only the current bar is kept, so memory stays constant no matter how many bars.
+ *
+ * advance(): generate the next bar into primitive fields (used by the CSV writer)
+ * next()   : advance() and wrap the result in a Candle
+ */
+public class SyntheticDataFeed implements DataFeed {
+
+    private static final double DT = 1.0 / 252.0;
+    private static final double SQRT_DT = Math.sqrt(DT);
+    private static final int REGIMES = SyntheticMarket.REGIME_DRIFT.length;
+
+    private final SyntheticMarket market;
+    private final SplittableRandom rnd;
+    private final long bars;
+    private long produced = 0;
+
+    // generator state
+    private double price;
+    private int regime = 0;
+    private LocalDate date;
+
+    // current bar, in cents
+    private long open, high, low, close, volume;
+
+    SyntheticDataFeed(SyntheticMarket market, long seed, long bars) {
+        if (bars < 0) throw new IllegalArgumentException("bars must be >= 0");
+        this.market = market;
+        this.rnd = new SplittableRandom(seed);
+        this.bars = bars;
+        this.price = 20.0 + 180.0 * rnd.nextDouble();
+        this.date = firstWeekday(market.start());
+    }
+
+    @Override
+    public boolean hasNext() { return produced < bars; }
+
+    @Override
+    public Candle next() {
+        advance();
+        return new Candle(date, open / 100.0, high / 100.0, low / 100.0, close / 100.0, volume);
+    }
+
+    /** Total bars this feed will produce. */
+    @Override
+    public long sizeHint() { return bars; }
+
+    /** Generates the next bar without allocating a Candle. */
+    public void advance() {
+        if (!hasNext()) throw new IllegalStateException("No more rows");
+        if (produced > 0) date = nextWeekday(date);
+        produced++;
+
+        if (rnd.nextDouble() < market.switchProb()) {
+            regime = (regime + 1 + rnd.nextInt(REGIMES - 1)) % REGIMES;
+        }
+        double mu = SyntheticMarket.REGIME_DRIFT[regime];
+        double sigma = SyntheticMarket.REGIME_VOL[regime];
+
+        double o = price;
+        if (rnd.nextDouble() < market.gapProb()) o *= Math.exp(market.gapVol() * rnd.nextGaussian());
+        double ret = (mu - 0.5 * sigma * sigma) * DT + sigma * SQRT_DT * rnd.nextGaussian();
+        double c = o * Math.exp(ret);
+        double wick = 0.5 * sigma * SQRT_DT;
+        double h = Math.max(o, c) * Math.exp(wick * Math.abs(rnd.nextGaussian()));
+        double l = Math.min(o, c) * Math.exp(-wick * Math.abs(rnd.nextGaussian()));
+
+        open = cents(o);
+        close = cents(c);
+        high = Math.max(cents(h), Math.max(open, close));
+        low = Math.min(cents(l), Math.min(open, close));
+        double activity = 1.0 + 2.0 * Math.abs(ret) / (sigma * SQRT_DT);
+        volume = (long) (market.baseVolume() * activity * Math.exp(0.3 * rnd.nextGaussian()));
+        price = close / 100.0;
+    }
+
+    public LocalDate date()  { return date; }
+    public long openCents()  { return open; }
+    public long highCents()  { return high; }
+    public long lowCents()   { return low; }
+    public long closeCents() { return close; }
+    public long volume()     { return volume; }
+
+    /** Date of the final bar, computed without generating anything. */
+    public LocalDate lastDate() {
+        LocalDate d = firstWeekday(market.start());
+        if (bars <= 1) return d;
+        long steps = bars - 1;
+        d = d.plusWeeks(steps / 5);
+        for (long i = 0; i < steps % 5; i++) d = nextWeekday(d);
+        return d;
+    }
+
+    /** Rounds to cents, never below one cent. */
+    private static long cents(double px) {
+        return Math.max(1L, Math.round(px * 100.0));
+    }
+
+    private static LocalDate firstWeekday(LocalDate d) {
+        while (d.getDayOfWeek() == DayOfWeek.SATURDAY || d.getDayOfWeek() == DayOfWeek.SUNDAY) d = d.plusDays(1);
+        return d;
+    }
+
+    private static LocalDate nextWeekday(LocalDate d) {
+        return switch (d.getDayOfWeek()) {
+            case FRIDAY -> d.plusDays(3);
+            case SATURDAY -> d.plusDays(2);
+            default -> d.plusDays(1);
+        };
+    }
+}
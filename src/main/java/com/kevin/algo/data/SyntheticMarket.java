@@ -0,0 +1,169 @@
+package com.kevin.algo.data;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * SyntheticMarket
+ * ---------------
+ * Deterministic generator of daily OHLCV bars for scale and load testing.
+ * Same seed + symbol index → the exact same bars, on any machine, every run.
+ *
+ * Model (per symbol, per weekday):
+ *  • Geometric Brownian motion whose drift/volatility come from a hidden regime
+ *    (calm bull, choppy, volatile bear) that switches with a small probability.
+ *  • Occasional overnight gaps: open jumps away from the previous close.
+ *  • High/low wicks around the open-close body, volume that grows with |return|.
+ *  • Prices are rounded to cents so CSV and in-memory paths yield identical candles.
+ *
+ * Two outputs, both streaming in O(1) memory:
+ *  • feed(symbol, bars)            → DataFeed, no file at all
+ *  • writeCsv(file, symbol, bars)  → same layout CsvDataFeed reads
+ */
+public class SyntheticMarket {
+
+    // Regimes: drift and volatility are annualised, applied per trading day (dt = 1/252)
+    static final double[] REGIME_DRIFT = { 0.12, 0.02, -0.20 };
+    static final double[] REGIME_VOL   = { 0.15, 0.25,  0.45 };
+
+    private final long seed;
+    private LocalDate start = LocalDate.of(2000, 1, 3);
+    private double switchProb = 0.01;   // chance per bar of jumping to another regime
+    private double gapProb = 0.02;      // chance per bar of an overnight gap
+    private double gapVol = 0.03;       // size (stdev of log move) of a gap
+    private long baseVolume = 1_000_000;
+
+    public SyntheticMarket(long seed) { this.seed = seed; }
+
+    public SyntheticMarket start(LocalDate start)     { this.start = start; return this; }
+    public SyntheticMarket switchProb(double p)       { this.switchProb = p; return this; }
+    public SyntheticMarket gaps(double prob, double vol) { this.gapProb = prob; this.gapVol = vol; return this; }
+    public SyntheticMarket baseVolume(long v)         { this.baseVolume = v; return this; }
+
+    LocalDate start()      { return start; }
+    double switchProb()    { return switchProb; }
+    double gapProb()       { return gapProb; }
+    double gapVol()        { return gapVol; }
+    long baseVolume()      { return baseVolume; }
+
+    /** Symbol name used for file names: SYM00000, SYM00001, ... */
+    public static String symbolName(int symbol) {
+        return String.format(Locale.ROOT, "SYM%05d", symbol);
+    }
+
+    /** In-memory stream of {@code bars} candles for one symbol. */
+    public SyntheticDataFeed feed(int symbol, long bars) {
+        return new SyntheticDataFeed(this, symbolSeed(symbol), bars);
+    }
+
+    /**
+     * Writes one symbol as Date,Open,High,Low,Close,Volume.
+     * Formats straight into a byte buffer (no String/Candle per row), so this runs at disk speed.
+     */
+    public void writeCsv(Path file, int symbol, long bars) {
+        checkBars(bars);
+        SyntheticDataFeed g = feed(symbol, bars);
+        byte[] line = new byte[128];
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20)) {
+            out.write("Date,Open,High,Low,Close,Volume\n".getBytes(java.nio.charset.StandardCharsets.US_ASCII));
+            while (g.hasNext()) {
+                g.advance();
+                int n = writeDate(line, 0, g.date());
+                line[n++] = ',';
+                n = writeCents(line, n, g.openCents());
+                line[n++] = ',';
+                n = writeCents(line, n, g.highCents());
+                line[n++] = ',';
+                n = writeCents(line, n, g.lowCents());
+                line[n++] = ',';
+                n = writeCents(line, n, g.closeCents());
+                line[n++] = ',';
+                n = writeLong(line, n, g.volume());
+                line[n++] = '\n';
+                out.write(line, 0, n);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write CSV: " + file, e);
+        }
+    }
+
+    /** Writes SYM00000.csv .. SYMnnnnn.csv into dir, one symbol per core at a time. */
+    public void writeCsvDirectory(Path dir, int symbols, long barsPerSymbol) {
+        // validate before touching the disk so a bad request leaves nothing behind
+        if (symbols <= 0) throw new IllegalArgumentException("symbols must be positive");
+        checkBars(barsPerSymbol);
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create directory: " + dir, e);
+        }
+        IntStream.range(0, symbols).parallel()
+                .forEach(s -> writeCsv(dir.resolve(symbolName(s) + ".csv"), s, barsPerSymbol));
+    }
+
+    /** CsvDataFeed reads 4-digit years, so the last bar must not fall past 9999-12-31. */
+    private void checkBars(long bars) {
+        if (bars < 0) throw new IllegalArgumentException("bars must not be negative");
+        int lastYear;
+        try {
+            lastYear = feed(0, bars).lastDate().getYear();
+        } catch (ArithmeticException | DateTimeException e) {
+            lastYear = Integer.MAX_VALUE; // beyond LocalDate's range altogether
+        }
+        if (lastYear > 9999) {
+            throw new IllegalArgumentException("Too many daily bars for one symbol (past year 9999): " + bars);
+        }
+    }
+
+    /** Independent, well-mixed seed per symbol (SplitMix64 finaliser). */
+    private long symbolSeed(int symbol) {
+        long z = seed + 0x9E3779B97F4A7C15L * (symbol + 1L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // ---- ASCII formatting helpers (yyyy-MM-dd, cents → 123.45, plain longs) ----
+
+    private static int writeDate(byte[] b, int i, LocalDate d) {
+        i = writeFixed(b, i, d.getYear(), 4);
+        b[i++] = '-';
+        i = writeFixed(b, i, d.getMonthValue(), 2);
+        b[i++] = '-';
+        return writeFixed(b, i, d.getDayOfMonth(), 2);
+    }
+
+    private static int writeFixed(byte[] b, int i, int v, int width) {
+        for (int k = width - 1; k >= 0; k--) {
+            b[i + k] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        return i + width;
+    }
+
+    private static int writeCents(byte[] b, int i, long cents) {
+        i = writeLong(b, i, cents / 100);
+        b[i++] = '.';
+        return writeFixed(b, i, (int) (cents % 100), 2);
+    }
+
+    private static int writeLong(byte[] b, int i, long v) {
+        if (v == 0) { b[i] = '0'; return i + 1; }
+        int start = i;
+        while (v > 0) {
+            b[i++] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        for (int l = start, r = i - 1; l < r; l++, r--) {
+            byte t = b[l]; b[l] = b[r]; b[r] = t;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,153 @@
+package com.kevin.algo.data;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.kevin.algo.core.Candle;
+
+/**
+ * Universe
+ * --------
+ * Close prices for many symbols aligned on one shared date axis,
+ * stored as a dense date × symbol matrix in a single double[] (row-major).
+ *
+ *   close(t, s) = closes[t * symbols + s]
+ *
+ * Features:
+ *  • One row per date, so "everything on date t" is a contiguous slice.
+ *  • Missing bars (symbol not listed yet / delisted / holiday) are NaN.
+ *  • Dates are the union of all feeds' dates, oldest → newest.
+ *
+ * Memory: 3,000 symbols × 5,000 dates ≈ 120 MB of doubles, no per-cell objects.
+ */
+public class Universe {
+
+    private final LocalDate[] dates;
+    private final String[] symbols;
+    private final double[] closes;
+
+    public Universe(LocalDate[] dates, String[] symbols, double[] closes) {
+        if (closes.length != (long) dates.length * symbols.length) {
+            throw new IllegalArgumentException("closes must be dates × symbols, got " + closes.length);
+        }
+        this.dates = dates;
+        this.symbols = symbols;
+        this.closes = closes;
+    }
+
+    public int dateCount()            { return dates.length; }
+    public int symbolCount()          { return symbols.length; }
+    public LocalDate date(int t)      { return dates[t]; }
+    public String symbol(int s)       { return symbols[s]; }
+    public double close(int t, int s) { return closes[t * symbols.length + s]; }
+
+    /** Raw row-major matrix; callers must not modify it. */
+    public double[] closes() { return closes; }
+
+    /**
+     * Drains one feed per symbol and aligns them on the union of their dates.
+     * Each feed is read once; dates are bucketed by epoch day so alignment is O(bars).
+     */
+    public static Universe fromFeeds(String[] symbols, DataFeed[] feeds) {
+        if (symbols.length != feeds.length) throw new IllegalArgumentException("symbols/feeds length mismatch");
+        int n = symbols.length;
+        long[][] days = new long[n][];
+        double[][] px = new double[n][];
+        long minDay = Long.MAX_VALUE, maxDay = Long.MIN_VALUE;
+
+        // 1) read every feed into primitive columns
+        for (int s = 0; s < n; s++) {
+            long[] d = new long[256];
+            double[] c = new double[256];
+            int len = 0;
+            while (feeds[s].hasNext()) {
+                Candle bar = feeds[s].next();
+                if (len == d.length) {
+                    d = Arrays.copyOf(d, len << 1);
+                    c = Arrays.copyOf(c, len << 1);
+                }
+                d[len] = bar.getDate().toEpochDay();
+                c[len] = bar.getClose();
+                len++;
+            }
+            days[s] = Arrays.copyOf(d, len);
+            px[s] = Arrays.copyOf(c, len);
+            if (len > 0) {
+                minDay = Math.min(minDay, days[s][0]);
+                maxDay = Math.max(maxDay, days[s][len - 1]);
+            }
+        }
+        if (minDay > maxDay) return new Universe(new LocalDate[0], symbols, new double[0]);
+
+        // 2) union of dates via a day → row lookup over [minDay, maxDay]
+        long span = maxDay - minDay + 1;
+        if (span > Integer.MAX_VALUE) throw new IllegalArgumentException("date span too large: " + span + " days");
+        int[] row = new int[(int) span];
+        Arrays.fill(row, -1);
+        for (long[] d : days) {
+            for (long day : d) row[(int) (day - minDay)] = 0;
+        }
+        int rows = 0;
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] == 0) row[i] = rows++;
+        }
+        LocalDate[] dates = new LocalDate[rows];
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] >= 0) dates[row[i]] = LocalDate.ofEpochDay(minDay + i);
+        }
+
+        // 3) scatter closes into the matrix, NaN where a symbol has no bar
+        double[] closes = new double[rows * n];
+        Arrays.fill(closes, Double.NaN);
+        for (int s = 0; s < n; s++) {
+            for (int i = 0; i < days[s].length; i++) {
+                closes[row[(int) (days[s][i] - minDay)] * n + s] = px[s][i];
+            }
+            days[s] = null;
+            px[s] = null;
+        }
+        return new Universe(dates, symbols, closes);
+    }
+
+    /** Loads every *.csv in a directory; the file name (minus .csv) is the symbol. */
+    public static Universe fromCsvDirectory(String dir) {
+        File[] files = new File(dir).listFiles((d, name) -> name.toLowerCase(Locale.ROOT).endsWith(".csv"));
+        if (files == null) throw new IllegalArgumentException("Not a directory: " + dir);
+        Arrays.sort(files);
+        String[] symbols = new String[files.length];
+        DataFeed[] feeds = new DataFeed[files.length];
+        for (int i = 0; i < files.length; i++) {
+            String name = files[i].getName();
+            symbols[i] = name.substring(0, name.length() - 4);
+            feeds[i] = new LazyCsvFeed(files[i].getPath());
+        }
+        return fromFeeds(symbols, feeds);
+    }
+
+    /** Defers parsing until first use so only one CSV is held in memory at a time. */
+    private static final class LazyCsvFeed implements DataFeed {
+        private final String path;
+        private CsvDataFeed feed;
+        private boolean done = false;
+
+        LazyCsvFeed(String path) { this.path = path; }
+
+        @Override
+        public boolean hasNext() {
+            if (done) return false;
+            if (feed == null) feed = new CsvDataFeed(path);
+            if (feed.hasNext()) return true;
+            feed = null; // release parsed rows once drained
+            done = true;
+            return false;
+        }
+
+        @Override
+        public Candle next() {
+            if (!hasNext()) throw new IllegalStateException("No more rows");
+            return feed.next();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.kevin.algo.downsample;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.kevin.algo.models.EquityPoint;
+
+/**
+ * LttbDownsampler
+ * ---------------
+ * Streaming Largest-Triangle-Three-Buckets for the equity curve.
+ * Thins N points down to ~maxPoints while keeping the visual shape (peaks, troughs).
+ *
+ * How LTTB works:
+ *   - first and last point are always kept
+ *   - the points in between are split into (maxPoints - 2) equal buckets
+ *   - from each bucket keep the point forming the largest triangle with
+ *     the previously kept point and the average of the *next* bucket
+ *
+ * Streaming: we only hold the bucket being decided plus the bucket being filled,
+ * so memory is O(total / maxPoints), never the whole curve.
+ *
+ * Extras on top of plain LTTB:
+ *   - with maxPoints >= 5 the global min and max equity points are always kept, in two
+ *     slots reserved out of maxPoints, so the output still fits
+ *   - trade bars are not pinned: they already go out in the signals list
+ *
+ * Output size <= max(maxPoints, 2).
+ */
+public class LttbDownsampler {
+
+    private final int points;          // LTTB picks: maxPoints minus the slots kept for min/max
+    private final boolean extremes;    // keep the global min and max on top of the picks
+    private final double every;        // points per bucket
+    private final boolean passThrough; // nothing to thin out
+    private final boolean endsOnly;    // fewer than 3 picks: no room for buckets, keep first/last only
+
+    private final List<EquityPoint> picked = new ArrayList<>();
+    private final List<Long> pickedIdx = new ArrayList<>();
+
+    // previously selected point (triangle vertex A)
+    private long anchorX;
+    private double anchorY;
+
+    // bucket waiting for its right neighbour to complete, and the one being filled
+    private Bucket cur = new Bucket(), next = new Bucket();
+    private int nextBucket = -1;
+    private long bucketEnd = 1;        // first index past the bucket being filled
+
+    // the newest point is held back: if the stream ends here, it's the "last" point
+    private long pendingIdx = -1;
+    private LocalDate pendingDate;
+    private double pendingY;
+
+    private long count = 0;
+    private long minIdx = -1, maxIdx = -1;
+    private LocalDate minDate, maxDate;
+    private double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param total     expected number of points (exact, or the stream is treated as ending early)
+     * @param maxPoints target output size; 0 or less disables downsampling,
+     *                  1 or 2 keeps just the first and last point
+     */
+    public LttbDownsampler(long total, int maxPoints) {
+        this.passThrough = maxPoints <= 0 || total <= Math.max(2, maxPoints);
+        this.extremes = maxPoints >= 5;
+        this.points = extremes ? maxPoints - 2 : maxPoints;
+        this.endsOnly = !passThrough && points < 3;
+        this.every = passThrough || endsOnly ? 1.0 : (double) (total - 2) / (points - 2);
+    }
+
+    /** Feeds the next point in time order. */
+    public void add(LocalDate date, double value) {
+        long i = count++;
+        if (value < minY) { minY = value; minIdx = i; minDate = date; }
+        if (value > maxY) { maxY = value; maxIdx = i; maxDate = date; }
+        if (passThrough) {
+            picked.add(new EquityPoint(date, value));
+            pickedIdx.add(i);
+            return;
+        }
+        if (i == 0) {
+            select(0, date, value);
+            return;
+        }
+        if (pendingIdx > 0 && !endsOnly) bucketize(pendingIdx, pendingDate, pendingY);
+        pendingIdx = i;
+        pendingDate = date;
+        pendingY = value;
+    }
+
+    /** Flushes the open buckets and returns the kept points in time order. */
+    public List<EquityPoint> finish() {
+        if (!passThrough && pendingIdx > 0) {
+            if (!cur.isEmpty()) {
+                if (next.isEmpty()) chooseFrom(cur, pendingIdx, pendingY);
+                else chooseFrom(cur, next.avgX(), next.avgY());
+            }
+            if (!next.isEmpty()) chooseFrom(next, pendingIdx, pendingY);
+            select(pendingIdx, pendingDate, pendingY);
+            pendingIdx = -1;
+        }
+        if (passThrough || !extremes) return picked;
+        return withExtremes();
+    }
+
+    /** Convenience for an already materialised curve (e.g. when the size wasn't known up front). */
+    public static List<EquityPoint> downsample(List<EquityPoint> points, int maxPoints) {
+        LttbDownsampler d = new LttbDownsampler(points.size(), maxPoints);
+        for (EquityPoint p : points) d.add(p.date, p.equity);
+        return d.finish();
+    }
+
+    private void bucketize(long i, LocalDate date, double y) {
+        if (i >= bucketEnd && nextBucket < points - 3) {
+            // "next" is complete: decide "cur" against it, then slide the window
+            if (!cur.isEmpty()) chooseFrom(cur, next.avgX(), next.avgY());
+            Bucket t = cur; cur = next; next = t;
+            next.clear();
+            nextBucket++;
+            bucketEnd = (long) Math.floor((nextBucket + 1) * every) + 1;
+        }
+        next.add(i, date, y);
+    }
+
+    /** Picks the point of b forming the largest triangle with the anchor and (cx, cy). */
+    private void chooseFrom(Bucket b, double cx, double cy) {
+        int best = 0;
+        double bestArea = -1;
+        for (int k = 0; k < b.size; k++) {
+            double area = Math.abs((anchorX - cx) * (b.y[k] - anchorY) - (anchorX - b.x[k]) * (cy - anchorY));
+            if (area > bestArea) { bestArea = area; best = k; }
+        }
+        select(b.x[best], b.dates[best], b.y[best]);
+        b.clear();
+    }
+
+    private void select(long x, LocalDate date, double y) {
+        picked.add(new EquityPoint(date, y));
+        pickedIdx.add(x);
+        anchorX = x;
+        anchorY = y;
+    }
+
+    /** Inserts the global min and max into the picks by index, skipping ones already picked. */
+    private List<EquityPoint> withExtremes() {
+        long lo = Math.min(minIdx, maxIdx), hi = Math.max(minIdx, maxIdx);
+        EquityPoint loPt = lo == minIdx ? new EquityPoint(minDate, minY) : new EquityPoint(maxDate, maxY);
+        EquityPoint hiPt = lo == minIdx ? new EquityPoint(maxDate, maxY) : new EquityPoint(minDate, minY);
+
+        List<EquityPoint> out = new ArrayList<>(picked.size() + 2);
+        long lastIdx = -1;
+        boolean loDone = false, hiDone = false;
+        for (int p = 0; p <= picked.size(); p++) {
+            long idx = p < picked.size() ? pickedIdx.get(p) : Long.MAX_VALUE;
+            if (!loDone && lo <= idx) {
+                if (lo != idx && lo != lastIdx) { out.add(loPt); lastIdx = lo; }
+                loDone = true;
+            }
+            if (!hiDone && hi <= idx) {
+                if (hi != idx && hi != lastIdx) { out.add(hiPt); lastIdx = hi; }
+                hiDone = true;
+            }
+            if (p < picked.size()) { out.add(picked.get(p)); lastIdx = idx; }
+        }
+        return out;
+    }
+
+    /** Growable buffer of one bucket's points plus running sums for its average. */
+    private static final class Bucket {
+        long[] x = new long[16];
+        double[] y = new double[16];
+        LocalDate[] dates = new LocalDate[16];
+        int size = 0;
+        double sumX = 0, sumY = 0;
+
+        void add(long xi, LocalDate d, double yi) {
+            if (size == x.length) {
+                x = Arrays.copyOf(x, size << 1);
+                y = Arrays.copyOf(y, size << 1);
+                dates = Arrays.copyOf(dates, size << 1);
+            }
+            x[size] = xi; y[size] = yi; dates[size] = d;
+            size++;
+            sumX += xi; sumY += yi;
+        }
+
+        boolean isEmpty() { return size == 0; }
+        double avgX()     { return sumX / size; }
+        double avgY()     { return sumY / size; }
+
+        void clear() {
+            Arrays.fill(dates, 0, size, null);
+            size = 0;
+            sumX = sumY = 0;
+        }
+    }
+}
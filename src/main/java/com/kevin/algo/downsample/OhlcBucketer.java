@@ -0,0 +1,76 @@
+package com.kevin.algo.downsample;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kevin.algo.models.BarOut;
+
+/**
+ * OhlcBucketer
+ * ------------
+ * Streaming OHLC-aware thinning of the price series.
+ * Consecutive bars are merged into buckets of ceil(total / maxPoints) bars:
+ *
+ *   date  = first bar's date
+ *   open  = first open,  close = last close
+ *   high  = max high,    low   = min low      → extremes are never lost
+ *   SMAs  = last bar's values (what the chart would show at bucket close)
+ *
+ * Signal bars are bucketed like any other bar (their date and price already go out
+ * in the signals list), so the output never exceeds maxPoints.
+ *
+ * Memory: one running bucket; output size <= maxPoints.
+ */
+public class OhlcBucketer {
+
+    private final long width;
+    private final List<BarOut> out = new ArrayList<>();
+
+    // running bucket
+    private int n = 0;
+    private LocalDate date;
+    private double open, high, low, close;
+    private Double smaFast, smaSlow;
+
+    /**
+     * @param total     expected number of bars
+     * @param maxPoints target output size; 0 or less disables bucketing
+     */
+    public OhlcBucketer(long total, int maxPoints) {
+        this.width = (maxPoints <= 0 || total <= maxPoints) ? 1 : (total + maxPoints - 1) / maxPoints;
+    }
+
+    /** Feeds the next bar in time order. */
+    public void add(LocalDate d, double o, double h, double l, double c, Double fast, Double slow) {
+        if (n == 0) {
+            date = d; open = o; high = h; low = l;
+        } else {
+            if (h > high) high = h;
+            if (l < low) low = l;
+        }
+        close = c;
+        smaFast = fast;
+        smaSlow = slow;
+        if (++n == width) flush();
+    }
+
+    /** Emits the partial bucket (if any) and returns all buckets in time order. */
+    public List<BarOut> finish() {
+        flush();
+        return out;
+    }
+
+    /** Convenience for an already materialised series. */
+    public static List<BarOut> downsample(List<BarOut> bars, int maxPoints) {
+        OhlcBucketer b = new OhlcBucketer(bars.size(), maxPoints);
+        for (BarOut x : bars) b.add(x.date, x.open, x.high, x.low, x.close, x.smaFast, x.smaSlow);
+        return b.finish();
+    }
+
+    private void flush() {
+        if (n == 0) return;
+        out.add(new BarOut(date, open, high, low, close, smaFast, smaSlow));
+        n = 0;
+    }
+}
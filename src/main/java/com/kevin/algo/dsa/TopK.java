@@ -0,0 +1,93 @@
+package com.kevin.algo.dsa;
+
+/**
+ * TopK
+ * ----
+ * Fixed capacity min-heap that keeps the k best (score, id) pairs seen so far.
+ * We use it for cross-sectional ranking ("top 50 symbols by momentum")
+ * without sorting the whole universe every date.
+ * - offer(score, id)  : O(log k), NaN scores are ignored
+ * - drainDescending() : O(k log k), returns ids best-first and empties the heap
+ *
+ * Notes:
+ * - Root is the *worst* kept entry, so a new candidate only has to beat the root.
+ * - Ties on score are broken by the lower id so results are deterministic.
+ *
+ * Complexity:
+ *   O(n log k) for n offers, vs O(n log n) for a full sort.
+ */
+public class TopK {
+    private final double[] score;
+    private final int[] id;
+    private int size = 0;
+
+    public TopK(int k) {
+        if (k <= 0) throw new IllegalArgumentException("k must be > 0");
+        this.score = new double[k];
+        this.id = new int[k];
+    }
+
+    /** Offers a candidate; keeps it only if it ranks among the best k. */
+    public void offer(double s, int i) {
+        if (Double.isNaN(s)) return;
+        if (size < score.length) {
+            score[size] = s;
+            id[size] = i;
+            siftUp(size++);
+        } else if (worse(score[0], id[0], s, i)) {
+            score[0] = s;
+            id[0] = i;
+            siftDown(0);
+        }
+    }
+
+    /** Returns the kept ids ordered best-first and clears the heap. */
+    public int[] drainDescending() {
+        int[] out = new int[size];
+        for (int pos = size - 1; pos >= 0; pos--) {
+            out[pos] = id[0];
+            size--;
+            score[0] = score[size];
+            id[0] = id[size];
+            if (size > 0) siftDown(0);
+        }
+        return out;
+    }
+
+    public int size()      { return size; }
+    public int capacity()  { return score.length; }
+    public boolean isEmpty(){ return size == 0; }
+
+    /** Clears without reallocating. */
+    public void clear() { size = 0; }
+
+    /** True if (sa, ia) ranks below (sb, ib). */
+    private static boolean worse(double sa, int ia, double sb, int ib) {
+        return sa < sb || (sa == sb && ia > ib);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(score[i], id[i], score[parent], id[parent])) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int l = 2 * i + 1, r = l + 1, min = i;
+            if (l < size && worse(score[l], id[l], score[min], id[min])) min = l;
+            if (r < size && worse(score[r], id[r], score[min], id[min])) min = r;
+            if (min == i) return;
+            swap(i, min);
+            i = min;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double ts = score[a]; score[a] = score[b]; score[b] = ts;
+        int ti = id[a]; id[a] = id[b]; id[b] = ti;
+    }
+}
@@ -2,9 +2,13 @@ package com.kevin.algo.engine;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import com.kevin.algo.core.Candle;
 import com.kevin.algo.data.DataFeed;
+import com.kevin.algo.data.ResampledView;
+import com.kevin.algo.downsample.LttbDownsampler;
+import com.kevin.algo.downsample.OhlcBucketer;
 import com.kevin.algo.indicators.SMA;
 import com.kevin.algo.models.BarOut;
 import com.kevin.algo.models.EquityPoint;
@@ -18,38 +22,121 @@ public class BacktestEngine {
         public List<BarOut> series = new ArrayList<>();
         public List<Signal> signals = new ArrayList<>();
         public List<EquityPoint> equity = new ArrayList<>();
+        public int barsRead;
+        public double lastClose = Double.NaN;
+    }
+
+    private final int maxPoints;
+    private final List<ResampledView> timeframes = new ArrayList<>();
+
+    public BacktestEngine() { this(0); }
+
+    /**
+     * @param maxPoints thin series/equity down to about this many points for the frontend
+     *                  (signals are reported separately); 0 = keep every bar
+     */
+    public BacktestEngine(int maxPoints) {
+        this.maxPoints = maxPoints;
+    }
+
+    /** Updates {@code view} from the base bars in the same pass, before the strategy runs. */
+    public BacktestEngine addTimeframe(ResampledView view) {
+        timeframes.add(view);
+        return this;
     }
 
     public Output run(DataFeed feed, SMA smaFast, SMA smaSlow, MovingAverageCrossover strat, Portfolio pf) {
 
         Output out = new Output();
-        Double prevFast = null, prevSlow = null;
+        Session run = new Session(smaFast, smaSlow, strat, pf);
+
+        // Downsample while streaming when the feed knows its length; otherwise collect and thin at the end
+        long total = maxPoints > 0 ? feed.sizeHint() : -1;
+        OhlcBucketer bars = total >= 0 ? new OhlcBucketer(total, maxPoints) : null;
+        LttbDownsampler curve = total >= 0 ? new LttbDownsampler(total, maxPoints) : null;
 
         while (feed.hasNext()) {
             Candle c = feed.next();
+            for (ResampledView v : timeframes) v.accumulate(c);
+
+            Optional<Signal> signal = run.step(c);
+            signal.ifPresent(out.signals::add);
+
+            Double fNow = run.fast(), sNow = run.slow();
+            double equity = run.equity();
+            if (bars != null) {
+                bars.add(c.getDate(), c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), fNow, sNow);
+                curve.add(c.getDate(), equity);
+            } else {
+                out.series.add(new BarOut(c.getDate(), c.getOpen(), c.getHigh(),
+                                          c.getLow(), c.getClose(), fNow, sNow));
+                out.equity.add(new EquityPoint(c.getDate(), equity));
+            }
+        }
+        out.barsRead = run.bars();
+        out.lastClose = run.lastClose();
+
+        if (bars != null) {
+            out.series = bars.finish();
+            out.equity = curve.finish();
+        } else if (maxPoints > 0) {
+            out.series = OhlcBucketer.downsample(out.series, maxPoints);
+            out.equity = LttbDownsampler.downsample(out.equity, maxPoints);
+        }
+        return out;
+    }
+
+    /**
+     * Session
+     * -------
+     * The per-bar core of one backtest: update SMAs, ask the strategy, fill the portfolio.
+     * run() drives one over a whole feed; callers that stop and resume runs
+     * (e.g. the optimizer advancing survivors span by span) drive it themselves.
+     */
+    public static class Session {
+        private final SMA smaFast, smaSlow;
+        private final MovingAverageCrossover strat;
+        private final Portfolio pf;
+        private Double prevFast, prevSlow, fNow, sNow;
+        private int bars = 0;
+        private double lastClose = Double.NaN;
+
+        public Session(SMA smaFast, SMA smaSlow, MovingAverageCrossover strat, Portfolio pf) {
+            this.smaFast = smaFast;
+            this.smaSlow = smaSlow;
+            this.strat = strat;
+            this.pf = pf;
+        }
+
+        /** Processes one bar; returns the signal it triggered, if any. */
+        public Optional<Signal> step(Candle c) {
             smaFast.add(c.getClose());
             smaSlow.add(c.getClose());
 
-            Double fNow = smaFast.isReady() ? smaFast.value() : null;
-            Double sNow = smaSlow.isReady() ? smaSlow.value() : null;
-
-            out.series.add(new BarOut(c.getDate(), c.getOpen(), c.getHigh(),
-                                      c.getLow(), c.getClose(), fNow, sNow));
+            fNow = smaFast.isReady() ? smaFast.value() : null;
+            sNow = smaSlow.isReady() ? smaSlow.value() : null;
 
             // generate signals when both ready and have prev
-            strat.maybeSignal(c.getDate(), c.getClose(),prevFast, prevSlow, fNow, sNow,pf.inPosition())
-                .ifPresent(sig -> {
-                    out.signals.add(sig);
+            Optional<Signal> signal = strat.maybeSignal(c.getDate(), c.getClose(), prevFast, prevSlow, fNow, sNow, pf.inPosition());
+            signal.ifPresent(sig -> {
                     switch (sig.type) {
                         case BUY -> pf.onBuy(sig.date, sig.price);
                         case SELL -> pf.onSell(sig.date, sig.price);
                      }
                  });
 
-            out.equity.add(new EquityPoint(c.getDate(), pf.equityAt(c.getClose())));
-
             prevFast = fNow; prevSlow = sNow;
+            bars++;
+            lastClose = c.getClose();
+            return signal;
         }
-        return out;
+
+        /** Equity marked at the last processed close. */
+        public double equity()     { return pf.equityAt(lastClose); }
+        public Double fast()       { return fNow; }
+        public Double slow()       { return sNow; }
+        public int bars()          { return bars; }
+        public double lastClose()  { return lastClose; }
+        public Portfolio portfolio() { return pf; }
     }
-}
\ No newline at end of file
+}
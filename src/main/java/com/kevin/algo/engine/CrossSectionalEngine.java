@@ -0,0 +1,101 @@
+package com.kevin.algo.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.kevin.algo.data.Universe;
+import com.kevin.algo.dsa.TopK;
+import com.kevin.algo.indicators.Factor;
+import com.kevin.algo.models.EquityPoint;
+import com.kevin.algo.models.Rebalance;
+import com.kevin.algo.portfolio.MultiPortfolio;
+import com.kevin.algo.risk.RiskLimits;
+import com.kevin.algo.risk.RollingCovariance;
+
+/**
+ * CrossSectionalEngine
+ * --------------------
+ * Ranks the whole universe on every rebalance date and holds the top k names
+ * equal-weighted, e.g. "buy the top 50 by 6-month momentum, rebalance monthly".
+ *
+ * Three passes:
+ *   1) factor matrix : factor(t, s) for every date × symbol  (parallel over dates)
+ *   2) selection     : top-k heap per rebalance date          (parallel over dates)
+ *   3) portfolio walk: mark + rebalance, oldest → newest      (sequential, path dependent)
+ *
+ * Passes 1 and 2 only read the universe, so dates are independent and spread across cores.
+ *
+ * Optional risk: with RiskLimits, a RollingCovariance of daily returns is updated during
+ * the walk and each rebalance's gross exposure is capped by the vol target / weight limits.
+ * That costs O(symbols²) per date, so it's meant for universes of hundreds, not thousands.
+ */
+public class CrossSectionalEngine {
+
+    public static class Output {
+        public List<EquityPoint> equity = new ArrayList<>();
+        public List<Rebalance> rebalances = new ArrayList<>();
+        public int orders;
+        public double finalEquity;
+    }
+
+    public Output run(Universe u, Factor factor, int topK, int rebalanceEvery, MultiPortfolio pf) {
+        return run(u, factor, topK, rebalanceEvery, pf, null, 0);
+    }
+
+    /**
+     * @param limits     vol target / exposure caps applied on each rebalance; null = always fully invested
+     * @param riskWindow bars of returns in the covariance estimate (e.g. 63 ≈ 3 months)
+     */
+    public Output run(Universe u, Factor factor, int topK, int rebalanceEvery, MultiPortfolio pf,
+                      RiskLimits limits, int riskWindow) {
+        if (rebalanceEvery <= 0) throw new IllegalArgumentException("rebalanceEvery must be > 0");
+        int dates = u.dateCount();
+        int n = u.symbolCount();
+        Output out = new Output();
+        if (dates == 0) return out;
+
+        // 1) factor values, one row per date
+        double[] values = new double[dates * n];
+        IntStream.range(0, dates).parallel().forEach(t -> {
+            int row = t * n;
+            for (int s = 0; s < n; s++) values[row + s] = factor.valueAt(u, t, s);
+        });
+
+        // 2) top-k picks on rebalance dates only
+        int first = Math.min(factor.warmup(), dates - 1);
+        int rebalances = (dates - 1 - first) / rebalanceEvery + 1;
+        int[][] picks = new int[rebalances][];
+        IntStream.range(0, rebalances).parallel().forEach(r -> {
+            int row = (first + r * rebalanceEvery) * n;
+            TopK heap = new TopK(topK);
+            for (int s = 0; s < n; s++) heap.offer(values[row + s], s);
+            picks[r] = heap.drainDescending();
+        });
+
+        // 3) walk the portfolio through time
+        double[] closes = u.closes();
+        RollingCovariance cov = limits != null && riskWindow >= 2 ? new RollingCovariance(n, riskWindow) : null;
+        double[] returns = cov != null ? new double[n] : null;
+        for (int t = 0; t < dates; t++) {
+            int row = t * n;
+            pf.mark(closes, row);
+            if (cov != null && t > 0) {
+                for (int s = 0; s < n; s++) returns[s] = closes[row + s] / closes[row - n + s] - 1.0;
+                cov.update(returns);
+            }
+            if (t >= first && (t - first) % rebalanceEvery == 0) {
+                int[] targets = picks[(t - first) / rebalanceEvery];
+                double exposure = limits != null ? limits.exposure(targets, cov) : 1.0;
+                pf.rebalance(targets, closes, row, exposure);
+                List<String> names = new ArrayList<>(targets.length);
+                for (int s : targets) names.add(u.symbol(s));
+                out.rebalances.add(new Rebalance(u.date(t), names, pf.equity(), exposure));
+            }
+            out.equity.add(new EquityPoint(u.date(t), pf.equity()));
+        }
+        out.orders = pf.orders();
+        out.finalEquity = pf.equity();
+        return out;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kevin.algo.indicators;
+
+import com.kevin.algo.data.Universe;
+
+/**
+ * Factor
+ * ------
+ * Cross-sectional counterpart of {@link Indicator}: scores one symbol on one date
+ * so the whole universe can be ranked per date.
+ *
+ * valueAt(u, t, s): factor value of symbol s on date t, NaN if not computable
+ * warmup()        : number of dates needed before the first non-NaN value
+ *
+ * Implementations must only read rows <= t (no look-ahead) and be stateless,
+ * because the engine evaluates dates in parallel.
+ */
+public interface Factor {
+    double valueAt(Universe u, int t, int s);
+    int warmup();
+}
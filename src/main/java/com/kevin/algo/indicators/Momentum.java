@@ -0,0 +1,40 @@
+package com.kevin.algo.indicators;
+
+import com.kevin.algo.data.Universe;
+
+/**
+ * Momentum (price rate of change)
+ * -------------------------------
+ * close[t - skip] / close[t - lookback] - 1
+ *
+ * e.g. lookback = 126 ≈ 6 months of daily bars; skip = 21 gives the classic
+ * "12-1" style momentum that ignores the most recent month.
+ * A symbol must also trade on date t itself, otherwise we can't act on it.
+ */
+public class Momentum implements Factor {
+
+    private final int lookback;
+    private final int skip;
+
+    public Momentum(int lookback) { this(lookback, 0); }
+
+    public Momentum(int lookback, int skip) {
+        if (lookback <= 0) throw new IllegalArgumentException("lookback must be > 0");
+        if (skip < 0 || skip >= lookback) throw new IllegalArgumentException("skip must be in [0, lookback)");
+        this.lookback = lookback;
+        this.skip = skip;
+    }
+
+    @Override
+    public double valueAt(Universe u, int t, int s) {
+        if (t < lookback) return Double.NaN;
+        double now = u.close(t, s);
+        double recent = u.close(t - skip, s);
+        double past = u.close(t - lookback, s);
+        if (Double.isNaN(now) || Double.isNaN(recent) || !(past > 0)) return Double.NaN;
+        return recent / past - 1.0;
+    }
+
+    @Override
+    public int warmup() { return lookback; }
+}
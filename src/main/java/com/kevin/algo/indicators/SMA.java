@@ -6,7 +6,7 @@ import java.util.Queue;
 /**
  * Simple Moving Average (rolling window)
  */
-public class SMA {
+public class SMA implements Indicator {
 
     private final int period;
     private final Queue<Double> window = new LinkedList<>();
@@ -24,16 +24,19 @@ public class SMA {
     }
 
     /** Convenience overload if your Candle class calls this */
+    @Override
     public void accumulate(com.kevin.algo.core.Candle bar) {
         add(bar.getClose());
     }
 
     /** Is SMA ready (enough samples)? */
+    @Override
     public boolean isReady() {
         return window.size() >= period;
     }
 
     /** Current SMA value; NaN if not ready */
+    @Override
     public double value() {
         return isReady() ? sum / window.size() : Double.NaN;
     }
@@ -0,0 +1,18 @@
+package com.kevin.algo.models;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class Rebalance {
+    public LocalDate date;
+    public List<String> symbols;
+    public double equity;
+    public double exposure;
+
+    public Rebalance(LocalDate date, List<String> symbols, double equity, double exposure) {
+        this.date = date;
+        this.symbols = symbols;
+        this.equity = equity;
+        this.exposure = exposure;
+    }
+}
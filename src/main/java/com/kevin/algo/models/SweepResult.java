@@ -0,0 +1,16 @@
+package com.kevin.algo.models;
+
+public class SweepResult {
+    public String csv;
+    public int fast, slow, trades;
+    public double finalEquity, totalReturnPct;
+
+    public SweepResult(String csv, int fast, int slow, double finalEquity, double totalReturnPct, int trades) {
+        this.csv = csv;
+        this.fast = fast;
+        this.slow = slow;
+        this.finalEquity = finalEquity;
+        this.totalReturnPct = totalReturnPct;
+        this.trades = trades;
+    }
+}
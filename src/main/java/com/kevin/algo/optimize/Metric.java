@@ -0,0 +1,30 @@
+package com.kevin.algo.optimize;
+
+import java.util.Locale;
+
+/**
+ * Metric
+ * ------
+ * How the optimizer ranks configurations at each rung (higher is better).
+ *
+ * RETURN : total return of the span so far
+ * SHARPE : mean / stdev of per-bar equity returns, annualised (√252)
+ * CALMAR : total return / max drawdown (drawdown floored at 1% so flat runs don't explode)
+ */
+public enum Metric {
+    RETURN, SHARPE, CALMAR;
+
+    public static Metric parse(String s, Metric fallback) {
+        if (s == null || s.isEmpty()) return fallback;
+        try { return valueOf(s.trim().toUpperCase(Locale.ROOT)); }
+        catch (IllegalArgumentException e) { return fallback; }
+    }
+
+    double score(Trial t) {
+        return switch (this) {
+            case RETURN -> t.totalReturn();
+            case SHARPE -> t.sharpe();
+            case CALMAR -> t.totalReturn() / Math.max(0.01, t.maxDrawdown());
+        };
+    }
+}
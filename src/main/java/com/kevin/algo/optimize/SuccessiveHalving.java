@@ -0,0 +1,245 @@
+package com.kevin.algo.optimize;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.kevin.algo.core.Candle;
+
+/**
+ * SuccessiveHalving
+ * -----------------
+ * Adaptive (fast, slow) search that stops spending time on obviously bad configurations.
+ *
+ *   rung 0: every config runs on a prefix of the history
+ *   rank by the metric, keep the best 1/eta, prune the rest
+ *   rung 1: survivors *continue* (no replay) up to a 2 × longer prefix
+ *   ... until the last rung covers the whole history and the best survivor wins.
+ *
+ * Spans only double (rather than grow × eta) and the first one is at least 20% of the
+ * history: on price data the ranking over a short prefix says little about the ranking
+ * over the whole history, so the search prunes hard but only on long-enough prefixes.
+ *
+ * Runs whose drawdown crosses the limit are aborted mid-flight and never promoted.
+ * All trials of a rung advance in parallel on one shared worker pool.
+ *
+ * Cost with the defaults (eta 3, three rungs at 1/4, 1/2 and all of the history):
+ *   n · total · (1/4 + 1/3 · 1/4 + 1/9 · 1/2) ≈ 0.39 × the full grid's n · total bars.
+ * Shorter histories (or a slow SMA near 10% of the history) get fewer rungs and cost more.
+ */
+public class SuccessiveHalving {
+
+    /** Why a configuration left (or won) the search. */
+    public static class Decision {
+        public int fast, slow, rung, bars;
+        public double score;
+        public String action; // "pruned", "aborted", "winner"
+
+        Decision(Trial t, int rung, double score, String action) {
+            this.fast = t.fast;
+            this.slow = t.slow;
+            this.rung = rung;
+            this.bars = t.bars();
+            this.score = score;
+            this.action = action;
+        }
+    }
+
+    public static class Rung {
+        public int rung, budgetBars, entered, aborted, promoted;
+    }
+
+    public static class Report {
+        public boolean found;
+        public int bestFast, bestSlow, bestTrades;
+        public double bestScore, bestReturnPct, bestMaxDrawdownPct;
+        public int configs, historyBars;
+        public long barsSimulated, fullGridBars;
+        public double costRatio;          // barsSimulated / fullGridBars
+        public long elapsedMs;
+        public List<Rung> rungs = new ArrayList<>();
+        public List<Decision> decisions = new ArrayList<>();
+    }
+
+    /** Result of the exhaustive grid with the same metric and abort rule, for comparison. */
+    public static class GridReport {
+        public boolean found;
+        public int bestFast, bestSlow;
+        public double bestScore;
+        public long barsSimulated, elapsedMs;
+    }
+
+    /** Automatic first span: never below this share of the history (nor 2 × slowest SMA). */
+    static final double MIN_FIRST_RUNG_FRACTION = 0.2;
+
+    private final Candle[] history;
+    private final double cash, fee, slip;
+    private final Metric metric;
+    private final int eta;
+    private final int minBars;
+    private final double maxDrawdown;
+    private final int threads;
+
+    /**
+     * @param eta         keep the best 1/eta of the configs at each cut, >= 2
+     * @param minBars     shortest span a rung may have; 0 = choose automatically
+     *                    (at least 20% of the history and 2 × slowest SMA)
+     * @param maxDrawdown abort a run once its drawdown exceeds this fraction (e.g. 0.3); 0 = no limit
+     */
+    public SuccessiveHalving(Candle[] history, double cash, double fee, double slip,
+                             Metric metric, int eta, int minBars, double maxDrawdown, int threads) {
+        if (eta < 2) throw new IllegalArgumentException("eta must be >= 2");
+        this.history = history;
+        this.cash = cash;
+        this.fee = fee;
+        this.slip = slip;
+        this.metric = metric;
+        this.eta = eta;
+        this.minBars = minBars;
+        this.maxDrawdown = maxDrawdown;
+        this.threads = Math.max(1, threads);
+    }
+
+    public Report run(int fastMin, int fastMax, int slowMin, int slowMax) throws InterruptedException {
+        long t0 = System.nanoTime();
+        List<Trial> alive = configs(fastMin, fastMax, slowMin, slowMax);
+        Report report = new Report();
+        report.configs = alive.size();
+        report.historyBars = history.length;
+        report.fullGridBars = (long) alive.size() * history.length;
+        if (history.length == 0) return report;
+
+        // rung budgets: the last rung is the full history, each earlier one half as long.
+        // No rung is shorter than the floor, which caps how many cuts happen on short prefixes.
+        int floor = Math.min(history.length, minBars > 0 ? minBars
+                : Math.max(2 * slowMax, (int) Math.ceil(MIN_FIRST_RUNG_FRACTION * history.length)));
+        int rungs = 1;
+        for (long n = alive.size(), span = history.length; n > 1 && span / 2 >= floor; n = (n + eta - 1) / eta, span /= 2) {
+            rungs++;
+        }
+
+        List<Trial> all = new ArrayList<>(alive);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int r = 0; r < rungs && !alive.isEmpty(); r++) {
+                int budget = history.length >> (rungs - 1 - r);
+                advanceAll(pool, alive, budget);
+
+                Rung rung = new Rung();
+                rung.rung = r;
+                rung.budgetBars = budget;
+                rung.entered = alive.size();
+
+                List<Trial> ranked = new ArrayList<>();
+                for (Trial t : alive) {
+                    if (t.aborted()) {
+                        rung.aborted++;
+                        report.decisions.add(new Decision(t, r, metric.score(t), "aborted"));
+                    } else {
+                        ranked.add(t);
+                    }
+                }
+                ranked.sort(byScore());
+
+                boolean last = r == rungs - 1 || budget == history.length;
+                int keep = last ? Math.min(1, ranked.size()) : (ranked.size() + eta - 1) / eta;
+                for (int k = keep; k < ranked.size(); k++) {
+                    report.decisions.add(new Decision(ranked.get(k), r, metric.score(ranked.get(k)), "pruned"));
+                }
+                alive = new ArrayList<>(ranked.subList(0, keep));
+                rung.promoted = last ? 0 : keep;
+                report.rungs.add(rung);
+
+                if (last) {
+                    if (!alive.isEmpty()) {
+                        Trial best = alive.get(0);
+                        report.found = true;
+                        report.bestFast = best.fast;
+                        report.bestSlow = best.slow;
+                        report.bestScore = metric.score(best);
+                        report.bestReturnPct = best.totalReturn() * 100.0;
+                        report.bestMaxDrawdownPct = best.maxDrawdown() * 100.0;
+                        report.bestTrades = best.trades();
+                        report.decisions.add(new Decision(best, r, report.bestScore, "winner"));
+                    }
+                    break;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        for (Trial t : all) report.barsSimulated += t.bars();
+        report.costRatio = (double) report.barsSimulated / report.fullGridBars;
+        report.elapsedMs = (System.nanoTime() - t0) / 1_000_000;
+        return report;
+    }
+
+    /** Every config over the whole history, same metric and drawdown rule. */
+    public GridReport runGrid(int fastMin, int fastMax, int slowMin, int slowMax) throws InterruptedException {
+        long t0 = System.nanoTime();
+        List<Trial> trials = configs(fastMin, fastMax, slowMin, slowMax);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            advanceAll(pool, trials, history.length);
+        } finally {
+            pool.shutdown();
+        }
+        GridReport g = new GridReport();
+        trials.sort(byScore());
+        for (Trial t : trials) {
+            g.barsSimulated += t.bars();
+            if (!g.found && !t.aborted()) {
+                g.found = true;
+                g.bestFast = t.fast;
+                g.bestSlow = t.slow;
+                g.bestScore = metric.score(t);
+            }
+        }
+        g.elapsedMs = (System.nanoTime() - t0) / 1_000_000;
+        return g;
+    }
+
+    /** Every (fast, slow) with fast < slow; an empty set is a caller error, not "nothing found". */
+    private List<Trial> configs(int fastMin, int fastMax, int slowMin, int slowMax) {
+        if (fastMin < 1) throw new IllegalArgumentException("fast SMA must be at least 1, got " + fastMin);
+        List<Trial> out = new ArrayList<>();
+        for (int f = fastMin; f <= fastMax; f++) {
+            for (int s = Math.max(slowMin, f + 1); s <= slowMax; s++) out.add(new Trial(f, s, cash, fee, slip));
+        }
+        if (out.isEmpty()) {
+            throw new IllegalArgumentException("no config with fast < slow in fast " + fastMin + ":" + fastMax
+                    + ", slow " + slowMin + ":" + slowMax);
+        }
+        return out;
+    }
+
+    /** Best first; ties go to the smaller (fast, slow) so results are deterministic. */
+    private Comparator<Trial> byScore() {
+        return Comparator.comparingDouble((Trial t) -> -metric.score(t))
+                .thenComparingInt(t -> t.fast)
+                .thenComparingInt(t -> t.slow);
+    }
+
+    private void advanceAll(ExecutorService pool, List<Trial> trials, int to) throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>(trials.size());
+        for (Trial t : trials) {
+            tasks.add(() -> {
+                t.advance(history, to, maxDrawdown);
+                return null;
+            });
+        }
+        for (Future<Void> f : pool.invokeAll(tasks)) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw new RuntimeException("trial failed", e.getCause());
+            }
+        }
+    }
+}
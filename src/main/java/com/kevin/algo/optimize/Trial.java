@@ -0,0 +1,68 @@
+package com.kevin.algo.optimize;
+
+import com.kevin.algo.core.Candle;
+import com.kevin.algo.engine.BacktestEngine;
+import com.kevin.algo.indicators.SMA;
+import com.kevin.algo.portfolio.Portfolio;
+import com.kevin.algo.strategy.MovingAverageCrossover;
+
+/**
+ * Trial
+ * -----
+ * One (fast, slow) configuration being evaluated. Wraps a BacktestEngine.Session so it
+ * can be advanced a span at a time and resumed later without replaying earlier bars.
+ * Tracks the equity statistics the metrics need (return, drawdown, per-bar return moments).
+ */
+final class Trial {
+    final int fast, slow;
+    private final double cash;
+    private final BacktestEngine.Session session;
+
+    private int pos = 0;                 // bars consumed so far
+    private double prevEquity, peak, maxDrawdown;
+    private double sumRet, sumRetSq;
+    private int abortedAt = -1;          // bar index where the drawdown limit tripped
+
+    Trial(int fast, int slow, double cash, double fee, double slip) {
+        this.fast = fast;
+        this.slow = slow;
+        this.cash = cash;
+        this.session = new BacktestEngine.Session(new SMA(fast), new SMA(slow),
+                new MovingAverageCrossover(), new Portfolio(cash, fee, slip));
+        this.prevEquity = cash;
+        this.peak = cash;
+    }
+
+    /** Runs bars [pos, to); stops early if drawdown exceeds {@code maxDrawdownLimit} (0 = no limit). */
+    void advance(Candle[] history, int to, double maxDrawdownLimit) {
+        while (pos < to && abortedAt < 0) {
+            session.step(history[pos++]);
+            double eq = session.equity();
+            double r = eq / prevEquity - 1.0;
+            sumRet += r;
+            sumRetSq += r * r;
+            prevEquity = eq;
+            if (eq > peak) peak = eq;
+            double dd = 1.0 - eq / peak;
+            if (dd > maxDrawdown) maxDrawdown = dd;
+            if (maxDrawdownLimit > 0 && dd > maxDrawdownLimit) abortedAt = pos - 1;
+        }
+    }
+
+    int bars()           { return pos; }
+    boolean aborted()    { return abortedAt >= 0; }
+    int abortedAt()      { return abortedAt; }
+    double maxDrawdown() { return maxDrawdown; }
+    int trades()         { return session.portfolio().closedTrades().size(); }
+
+    double totalReturn() {
+        return pos == 0 ? 0.0 : session.equity() / cash - 1.0;
+    }
+
+    double sharpe() {
+        if (pos < 2) return 0.0;
+        double mean = sumRet / pos;
+        double var = (sumRetSq - pos * mean * mean) / (pos - 1);
+        return var > 0 ? mean / Math.sqrt(var) * Math.sqrt(252.0) : 0.0;
+    }
+}
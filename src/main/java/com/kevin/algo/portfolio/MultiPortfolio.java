@@ -0,0 +1,112 @@
+package com.kevin.algo.portfolio;
+
+import java.util.Arrays;
+
+/**
+ * MultiPortfolio
+ * --------------
+ * Cash + whole-share positions across a universe of symbols (indexed 0..n-1).
+ * Counterpart of {@link Portfolio} for cross-sectional strategies that hold
+ * many names at once and rebalance them together.
+ *
+ * Costs follow Portfolio: a flat fee + slippage per order.
+ * Equity only walks the currently held symbols, so marking to market is O(k) per date.
+ */
+public class MultiPortfolio {
+    private double cash;
+    private final double fee, slip;
+    private final int[] shares;
+    private final double[] lastPrice;   // last known price, used when a held symbol has no bar
+    private final boolean[] inTarget;   // scratch for rebalance()
+    private int[] held = new int[16];   // symbols with shares != 0
+    private int heldCount = 0;
+    private int orders = 0;
+
+    public MultiPortfolio(int symbols, double startingCash, double fee, double slippage) {
+        this.cash = startingCash;
+        this.fee = fee;
+        this.slip = slippage;
+        this.shares = new int[symbols];
+        this.lastPrice = new double[symbols];
+        this.inTarget = new boolean[symbols];
+    }
+
+    /** Updates last known prices of held symbols; NaN means "no bar today". */
+    public void mark(double[] prices, int offset) {
+        for (int i = 0; i < heldCount; i++) {
+            int s = held[i];
+            double p = prices[offset + s];
+            if (!Double.isNaN(p)) lastPrice[s] = p;
+        }
+    }
+
+    /** Cash + held shares at their last known prices. */
+    public double equity() {
+        double eq = cash;
+        for (int i = 0; i < heldCount; i++) {
+            int s = held[i];
+            eq += shares[s] * lastPrice[s];
+        }
+        return eq;
+    }
+
+    /**
+     * Rebalances to an equal-weight book over {@code targets}, scaled by {@code exposure} (0..1).
+     * prices[offset + s] must be the current price of every target symbol.
+     * Sells run before buys so cash from exits funds new entries.
+     */
+    public void rebalance(int[] targets, double[] prices, int offset, double exposure) {
+        for (int s : targets) {
+            inTarget[s] = true;
+            lastPrice[s] = prices[offset + s];
+        }
+
+        // 1) exit everything that dropped out of the target set
+        for (int i = heldCount - 1; i >= 0; i--) {
+            int s = held[i];
+            if (!inTarget[s]) trade(s, -shares[s]);
+        }
+
+        // 2) resize to equal weight: shrink first, then grow with whatever cash is left
+        if (targets.length > 0) {
+            double perName = equity() * exposure / targets.length;
+            int[] want = new int[targets.length];
+            for (int i = 0; i < targets.length; i++) {
+                int s = targets[i];
+                want[i] = (int) (perName / (lastPrice[s] + fee + slip));
+                if (want[i] < shares[s]) trade(s, want[i] - shares[s]);
+            }
+            for (int i = 0; i < targets.length; i++) {
+                int s = targets[i];
+                int qty = want[i] - shares[s];
+                if (qty <= 0) continue;
+                int affordable = (int) ((cash - fee - slip) / lastPrice[s]);
+                qty = Math.min(qty, affordable);
+                if (qty > 0) trade(s, qty);
+            }
+        }
+
+        for (int s : targets) inTarget[s] = false;
+    }
+
+    private void trade(int s, int qty) {
+        if (qty == 0) return;
+        boolean wasHeld = shares[s] != 0;
+        cash -= qty * lastPrice[s] + fee + slip;
+        shares[s] += qty;
+        orders++;
+        if (!wasHeld) {
+            if (heldCount == held.length) held = Arrays.copyOf(held, heldCount << 1);
+            held[heldCount++] = s;
+        } else if (shares[s] == 0) {
+            for (int i = 0; i < heldCount; i++) {
+                if (held[i] == s) { held[i] = held[--heldCount]; break; }
+            }
+        }
+    }
+
+    public double cash()        { return cash; }
+    public int shares(int s)    { return shares[s]; }
+    public int positions()      { return heldCount; }
+    public int orders()         { return orders; }
+}
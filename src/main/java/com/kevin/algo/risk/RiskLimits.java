@@ -0,0 +1,53 @@
+package com.kevin.algo.risk;
+
+import java.util.Arrays;
+
+/**
+ * RiskLimits
+ * ----------
+ * Turns a covariance estimate into a gross exposure for the next rebalance.
+ *
+ *  • Volatility target: scale the book so predicted annual vol ≈ targetVol
+ *      exposure = targetVol / (sqrt(w^T Σ w) · sqrt(252))
+ *  • Exposure limits: never above maxGross (1.0 = fully invested, no leverage),
+ *    and no single name above maxWeight of equity.
+ *
+ * Until the covariance window is full we only apply the exposure limits.
+ */
+public class RiskLimits {
+
+    private static final double BARS_PER_YEAR = 252.0;
+
+    private final double targetVol, maxGross, maxWeight;
+
+    /**
+     * @param targetVol annualised volatility target, e.g. 0.15; 0 or less disables targeting
+     * @param maxGross  cap on total exposure, e.g. 1.0
+     * @param maxWeight cap on any single position, e.g. 0.05; 0 or less disables it
+     */
+    public RiskLimits(double targetVol, double maxGross, double maxWeight) {
+        this.targetVol = targetVol;
+        this.maxGross = maxGross;
+        this.maxWeight = maxWeight;
+    }
+
+    /** Gross exposure (0..maxGross) for an equal-weight book over {@code targets}. */
+    public double exposure(int[] targets, RollingCovariance cov) {
+        if (targets.length == 0) return 0.0;
+        double exposure = maxGross;
+        if (maxWeight > 0) exposure = Math.min(exposure, maxWeight * targets.length);
+
+        if (targetVol > 0 && cov != null && cov.isReady()) {
+            double[] w = new double[targets.length];
+            Arrays.fill(w, 1.0 / targets.length);
+            double barVol = Math.sqrt(cov.portfolioVariance(targets, w));
+            double annualVol = barVol * Math.sqrt(BARS_PER_YEAR);
+            if (annualVol > 0) exposure = Math.min(exposure, targetVol / annualVol);
+        }
+        return exposure;
+    }
+
+    public double targetVol() { return targetVol; }
+    public double maxGross()  { return maxGross; }
+    public double maxWeight() { return maxWeight; }
+}
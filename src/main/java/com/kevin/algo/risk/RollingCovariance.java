@@ -0,0 +1,173 @@
+package com.kevin.algo.risk;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * RollingCovariance
+ * -----------------
+ * N × N covariance/correlation of asset returns over the last W bars,
+ * maintained with rank-one updates instead of recomputing from scratch.
+ *
+ * For each pair we keep running sums over the window:
+ *   S_i  = Σ r_i          P_ij = Σ r_i · r_j
+ * A new bar adds r r^T and the bar leaving the window subtracts o o^T, so one update is
+ * O(N²) instead of O(N² · W). Then
+ *   cov_ij = (P_ij - S_i · S_j / m) / (m - 1)      (m = bars in window)
+ *
+ * Storage:
+ *  • P is symmetric, so only the upper triangle is kept, packed row by row in one double[]
+ *    (N = 500 → 125,250 doubles ≈ 1 MB).
+ *  • The window of returns is a W × N ring buffer (same idea as ArrayQueue).
+ *
+ * Rows are split into blocks of roughly equal work (the triangle's rows shrink) and
+ * updated in parallel once N is large enough to pay for it.
+ *
+ * Sliding sums accumulate floating-point drift, so every W full updates the sums are
+ * rebuilt from the ring buffer: O(N² · W) once per W bars, still O(N²) amortised.
+ *
+ * Missing returns (NaN) are treated as 0.
+ */
+public class RollingCovariance {
+
+    private static final int PARALLEL_MIN_ASSETS = 128;
+
+    private final int n, window;
+    private final double[] ring;      // window × n, row = one bar of returns
+    private final double[] sum;       // S_i
+    private final double[] cross;     // packed upper triangle of P
+    private final int[] rowStart;     // index of (i, i) in cross
+    private final int[] blockStart;   // row blocks for parallel updates
+    private final double[] in;        // scratch: cleaned copy of the incoming bar
+    private int head = 0;             // next ring row to write
+    private int count = 0;            // bars in window (<= window)
+    private int sinceRebuild = 0;
+
+    public RollingCovariance(int assets, int window) {
+        if (assets <= 0) throw new IllegalArgumentException("assets must be > 0");
+        if (window < 2) throw new IllegalArgumentException("window must be >= 2");
+        this.n = assets;
+        this.window = window;
+        this.ring = new double[window * assets];
+        this.sum = new double[assets];
+        this.cross = new double[assets * (assets + 1) / 2];
+        this.rowStart = new int[assets];
+        for (int i = 1; i < assets; i++) rowStart[i] = rowStart[i - 1] + (assets - i + 1);
+        this.blockStart = balancedBlocks(assets, Runtime.getRuntime().availableProcessors() * 4);
+        this.in = new double[assets];
+    }
+
+    /** Adds one bar of returns (length = assets); drops the oldest once the window is full. */
+    public void update(double[] returns) {
+        if (returns.length != n) throw new IllegalArgumentException("expected " + n + " returns, got " + returns.length);
+        int row = head * n;
+        boolean evict = count == window;
+        for (int i = 0; i < n; i++) in[i] = Double.isNaN(returns[i]) ? 0.0 : returns[i];
+
+        if (n >= PARALLEL_MIN_ASSETS && blockStart.length > 2) {
+            IntStream.range(0, blockStart.length - 1).parallel()
+                    .forEach(b -> updateRows(blockStart[b], blockStart[b + 1], in, row, evict));
+        } else {
+            updateRows(0, n, in, row, evict);
+        }
+
+        System.arraycopy(in, 0, ring, row, n);
+        head = (head + 1) % window;
+        if (!evict) count++;
+
+        if (evict && ++sinceRebuild >= window) rebuild();
+    }
+
+    /** Rank-one add of {@code in} and, if evicting, rank-one remove of the ring row at {@code row}. */
+    private void updateRows(int from, int to, double[] in, int row, boolean evict) {
+        for (int i = from; i < to; i++) {
+            double ri = in[i];
+            int p = rowStart[i] - i; // cross[p + j] is (i, j)
+            if (evict) {
+                double oi = ring[row + i];
+                sum[i] += ri - oi;
+                for (int j = i; j < n; j++) cross[p + j] += ri * in[j] - oi * ring[row + j];
+            } else {
+                sum[i] += ri;
+                for (int j = i; j < n; j++) cross[p + j] += ri * in[j];
+            }
+        }
+    }
+
+    /** Recomputes the sums from the ring buffer to cancel accumulated rounding error. */
+    private void rebuild() {
+        sinceRebuild = 0;
+        IntStream.range(0, blockStart.length - 1).parallel().forEach(b -> {
+            for (int i = blockStart[b]; i < blockStart[b + 1]; i++) {
+                int p = rowStart[i] - i;
+                double s = 0;
+                for (int j = i; j < n; j++) cross[p + j] = 0;
+                for (int t = 0; t < count; t++) {
+                    int row = t * n;
+                    double ri = ring[row + i];
+                    s += ri;
+                    for (int j = i; j < n; j++) cross[p + j] += ri * ring[row + j];
+                }
+                sum[i] = s;
+            }
+        });
+    }
+
+    public int assets()  { return n; }
+    public int window()  { return window; }
+    public int count()   { return count; }
+    public boolean isReady() { return count == window; }
+
+    /** Sample covariance of assets i and j over the window; NaN with fewer than 2 bars. */
+    public double covariance(int i, int j) {
+        if (count < 2) return Double.NaN;
+        if (i > j) { int t = i; i = j; j = t; }
+        return (cross[rowStart[i] + (j - i)] - sum[i] * sum[j] / count) / (count - 1);
+    }
+
+    public double correlation(int i, int j) {
+        double vi = covariance(i, i), vj = covariance(j, j);
+        if (!(vi > 0) || !(vj > 0)) return Double.NaN;
+        return covariance(i, j) / Math.sqrt(vi * vj);
+    }
+
+    /** w^T Σ w over all assets, per bar. O(N²). */
+    public double portfolioVariance(double[] w) {
+        if (w.length != n) throw new IllegalArgumentException("expected " + n + " weights, got " + w.length);
+        if (count < 2) return Double.NaN;
+        double var = 0;
+        for (int i = 0; i < n; i++) {
+            if (w[i] == 0) continue;
+            double rowSum = 0;
+            for (int j = i + 1; j < n; j++) rowSum += w[j] * covariance(i, j);
+            var += w[i] * (w[i] * covariance(i, i) + 2.0 * rowSum);
+        }
+        return var;
+    }
+
+    /** w^T Σ w restricted to the listed assets (weights[k] belongs to assets[k]), per bar. O(k²). */
+    public double portfolioVariance(int[] assets, double[] weights) {
+        if (count < 2) return Double.NaN;
+        double var = 0;
+        for (int a = 0; a < assets.length; a++) {
+            for (int b = 0; b < assets.length; b++) {
+                var += weights[a] * weights[b] * covariance(assets[a], assets[b]);
+            }
+        }
+        return var;
+    }
+
+    /** Splits rows 0..n into blocks holding roughly the same number of triangle cells. */
+    private static int[] balancedBlocks(int n, int blocks) {
+        blocks = Math.max(1, Math.min(blocks, n));
+        long total = (long) n * (n + 1) / 2, per = (total + blocks - 1) / blocks, acc = 0;
+        int[] tmp = new int[blocks + 1];
+        int b = 1;
+        for (int i = 0; i < n && b < blocks; i++) {
+            acc += n - i;
+            if (acc >= per * b) tmp[b++] = i + 1;
+        }
+        tmp[b] = n;
+        return Arrays.copyOf(tmp, b + 1);
+    }
+}
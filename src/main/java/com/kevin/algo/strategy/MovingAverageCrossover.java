@@ -3,10 +3,24 @@ package com.kevin.algo.strategy;
 import java.time.LocalDate;
 import java.util.Optional;
 
+import com.kevin.algo.data.ResampledView;
+import com.kevin.algo.indicators.Indicator;
 import com.kevin.algo.models.Signal;
 
 public class MovingAverageCrossover {
 
+    // Optional higher-timeframe trend filter: only BUY while the last finished
+    // higher-timeframe close is above its moving average (e.g. weekly close > 10-week SMA)
+    private final ResampledView trend;
+    private final Indicator trendMa;
+
+    public MovingAverageCrossover() { this(null, null); }
+
+    public MovingAverageCrossover(ResampledView trend, Indicator trendMa) {
+        this.trend = trend;
+        this.trendMa = trendMa;
+    }
+
     public Optional<Signal> maybeSignal(LocalDate date, double close,
                                         Double fastPrev, Double slowPrev,
                                         Double fastNow, Double slowNow,
@@ -17,11 +31,17 @@ public class MovingAverageCrossover {
         double prevDiff = fastPrev - slowPrev;
         double currDiff = fastNow - slowNow;
 
-        if (prevDiff <= 0 && currDiff > 0 && !inPosition)
+        if (prevDiff <= 0 && currDiff > 0 && !inPosition && trendUp())
             return Optional.of(new Signal(date, close, Signal.Type.BUY));
         if (prevDiff >= 0 && currDiff < 0 && inPosition)
             return Optional.of(new Signal(date, close, Signal.Type.SELL));
 
         return Optional.empty();
     }
+
+    private boolean trendUp() {
+        if (trend == null) return true;
+        return trendMa.isReady() && trend.lastClosed() != null
+            && trend.lastClosed().getClose() > trendMa.value();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,265 @@
+package com.kevin.algo.sweep;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.kevin.algo.dsa.TopK;
+import com.kevin.algo.models.SweepResult;
+
+/**
+ * SweepCoordinator
+ * ----------------
+ * Runs a (symbol × fast × slow) sweep across several worker JVMs on this machine,
+ * so memory bandwidth and GC are spread over processes instead of one heap.
+ *
+ * How it works:
+ *  • The job space is cut into fixed-size chunks of consecutive job ids.
+ *  • Workers (see {@link SweepWorker}) connect over a loopback socket and *pull*:
+ *    an idle worker asks for work and gets the next queued chunk.
+ *  • Once the queue is empty, idle workers steal: they get a second copy of a chunk
+ *    still running elsewhere; whichever copy finishes first wins, the other is ignored.
+ *  • If a worker dies (socket closes) its unfinished chunk goes back to the front of the queue.
+ *  • Results are merged into per-job arrays as each chunk arrives.
+ *
+ * One handler thread per worker connection; all shared state is guarded by this object's monitor.
+ */
+public class SweepCoordinator {
+
+    public static class Report {
+        public long jobs;
+        public int chunks, chunkSize, workers;
+        public int chunksStolen;    // speculative copies handed to idle workers
+        public int chunksRequeued;  // chunks put back after their worker died
+        public int workersLost;
+        public long elapsedMs;
+        public double[] finalEquity; // by job id, NaN for skipped (fast >= slow) jobs
+        public int[] trades;
+    }
+
+    private final SweepGrid grid;
+    private final double cash, fee, slip;
+
+    // shared state (guarded by this)
+    private final Deque<Integer> pending = new ArrayDeque<>();
+    private final Set<Integer> inFlight = new LinkedHashSet<>(); // oldest dispatch first
+    private int[] assignees;
+    private boolean[] done;
+    private int doneCount;
+    private int liveWorkers;
+    private Report report;
+
+    public SweepCoordinator(SweepGrid grid, double cash, double fee, double slip) {
+        this.grid = grid;
+        this.cash = cash;
+        this.fee = fee;
+        this.slip = slip;
+    }
+
+    /**
+     * Spawns {@code workers} JVMs from the current classpath and blocks until every chunk is done.
+     * @param chunk jobs per chunk; 0 picks ~8 chunks per worker
+     */
+    public Report run(int workers, int chunk) throws IOException, InterruptedException {
+        if (workers <= 0) throw new IllegalArgumentException("workers must be > 0");
+        long jobs = grid.size();
+        if (jobs > Integer.MAX_VALUE) throw new IllegalArgumentException("too many jobs: " + jobs);
+        int chunkSize = chunk > 0 ? chunk : (int) Math.max(1, (jobs + workers * 8L - 1) / (workers * 8L));
+        int chunks = (int) ((jobs + chunkSize - 1) / chunkSize);
+
+        report = new Report();
+        report.jobs = jobs;
+        report.chunks = chunks;
+        report.chunkSize = chunkSize;
+        report.workers = workers;
+        report.finalEquity = new double[(int) jobs];
+        report.trades = new int[(int) jobs];
+        Arrays.fill(report.finalEquity, Double.NaN);
+        assignees = new int[chunks];
+        done = new boolean[chunks];
+        doneCount = 0;
+        pending.clear();
+        inFlight.clear();
+        for (int c = 0; c < chunks; c++) pending.add(c);
+
+        long t0 = System.nanoTime();
+        List<Process> procs = new ArrayList<>();
+        List<Thread> handlers = new ArrayList<>();
+        try (ServerSocket server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+            for (int w = 0; w < workers; w++) {
+                procs.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        SweepWorker.class.getName(), "--port", String.valueOf(server.getLocalPort()))
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start());
+            }
+
+            Thread acceptor = new Thread(() -> acceptLoop(server, workers, handlers, chunkSize), "sweep-accept");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            synchronized (this) {
+                while (doneCount < chunks) {
+                    if (liveWorkers == 0 && procs.stream().noneMatch(Process::isAlive)) {
+                        throw new IllegalStateException("all workers exited with " + (chunks - doneCount) + " chunks left");
+                    }
+                    wait(200);
+                }
+            }
+        } finally {
+            for (Process p : procs) p.destroy();
+        }
+        for (Thread h : handlers) h.join(1000);
+        report.elapsedMs = (System.nanoTime() - t0) / 1_000_000;
+        return report;
+    }
+
+    /** Best {@code n} finished jobs by final equity. */
+    public List<SweepResult> top(Report r, int n) {
+        TopK heap = new TopK(Math.max(1, n));
+        for (int id = 0; id < r.finalEquity.length; id++) heap.offer(r.finalEquity[id], id);
+        List<SweepResult> out = new ArrayList<>();
+        for (int id : heap.drainDescending()) {
+            double eq = r.finalEquity[id];
+            out.add(new SweepResult(grid.csvPaths[grid.symbolOf(id)], grid.fastOf(id), grid.slowOf(id),
+                    eq, (eq / cash - 1.0) * 100.0, r.trades[id]));
+        }
+        return out;
+    }
+
+    private void acceptLoop(ServerSocket server, int workers, List<Thread> handlers, int chunkSize) {
+        for (int w = 0; w < workers; w++) {
+            Socket s;
+            try {
+                s = server.accept();
+            } catch (IOException e) {
+                return; // server closed: run() is finished
+            }
+            synchronized (this) { liveWorkers++; }
+            Thread t = new Thread(() -> serve(s, chunkSize), "sweep-worker-" + w);
+            t.setDaemon(true);
+            synchronized (handlers) { handlers.add(t); }
+            t.start();
+        }
+    }
+
+    /** Talks to one worker until DONE or until its connection drops. */
+    private void serve(Socket socket, int chunkSize) {
+        int current = -1;
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeByte(SweepProtocol.HELLO);
+            out.writeDouble(cash);
+            out.writeDouble(fee);
+            out.writeDouble(slip);
+            grid.write(out);
+            out.flush();
+
+            while (true) {
+                byte tag = in.readByte();
+                if (tag == SweepProtocol.RESULT) {
+                    int chunk = in.readInt();
+                    int count = in.readInt();
+                    double[] eq = new double[count];
+                    int[] tr = new int[count];
+                    for (int k = 0; k < count; k++) {
+                        eq[k] = in.readDouble();
+                        tr[k] = in.readInt();
+                    }
+                    complete(chunk, (long) chunk * chunkSize, eq, tr);
+                    current = -1;
+                } else if (tag == SweepProtocol.READY) {
+                    current = take();
+                    if (current < 0) {
+                        out.writeByte(SweepProtocol.DONE);
+                        out.flush();
+                        return;
+                    }
+                    long first = (long) current * chunkSize;
+                    out.writeByte(SweepProtocol.CHUNK);
+                    out.writeInt(current);
+                    out.writeLong(first);
+                    out.writeInt((int) Math.min(chunkSize, report.jobs - first));
+                    out.flush();
+                } else {
+                    throw new IOException("unexpected message " + tag);
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            lost(current);
+        } finally {
+            synchronized (this) {
+                liveWorkers--;
+                notifyAll();
+            }
+        }
+    }
+
+    /** Next chunk for an idle worker: queued first, then a copy of the oldest running one; -1 when all done. */
+    private synchronized int take() throws InterruptedException {
+        while (true) {
+            if (doneCount == done.length) return -1;
+            Integer c = pending.pollFirst();
+            if (c != null) {
+                assignees[c]++;
+                inFlight.add(c);
+                return c;
+            }
+            for (int running : inFlight) {
+                if (assignees[running] == 1) {
+                    assignees[running]++;
+                    report.chunksStolen++;
+                    return running;
+                }
+            }
+            wait();
+        }
+    }
+
+    /** Chunks currently handed out to workers; lets tests wait until every worker is busy. */
+    synchronized int chunksInFlight() {
+        return inFlight.size();
+    }
+
+    private synchronized void complete(int chunk, long first, double[] eq, int[] tr) {
+        assignees[chunk]--;
+        if (!done[chunk]) {
+            done[chunk] = true;
+            doneCount++;
+            inFlight.remove(chunk);
+            System.arraycopy(eq, 0, report.finalEquity, (int) first, eq.length);
+            System.arraycopy(tr, 0, report.trades, (int) first, tr.length);
+        }
+        notifyAll();
+    }
+
+    private synchronized void lost(int chunk) {
+        if (doneCount == done.length) return; // losing a duplicate after the sweep finished is fine
+        report.workersLost++;
+        if (chunk >= 0) {
+            assignees[chunk]--;
+            if (!done[chunk] && assignees[chunk] == 0) {
+                inFlight.remove(chunk);
+                pending.addFirst(chunk);
+                report.chunksRequeued++;
+            }
+        }
+        notifyAll();
+    }
+}
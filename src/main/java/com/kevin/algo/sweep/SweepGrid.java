@@ -0,0 +1,59 @@
+package com.kevin.algo.sweep;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * SweepGrid
+ * ---------
+ * The (symbol × fast × slow) job space of a parameter sweep.
+ * Jobs are numbered 0..size()-1, symbol-major, so a contiguous chunk of ids
+ * mostly touches one symbol (workers only need to load a few CSVs at a time).
+ *
+ *   id = (symbol * fastCount + (fast - fastMin)) * slowCount + (slow - slowMin)
+ *
+ * Only the grid bounds travel over the wire; each side derives jobs from ids.
+ */
+public class SweepGrid {
+
+    public final String[] csvPaths;
+    public final int fastMin, fastMax, slowMin, slowMax;
+
+    public SweepGrid(String[] csvPaths, int fastMin, int fastMax, int slowMin, int slowMax) {
+        if (csvPaths.length == 0) throw new IllegalArgumentException("need at least one CSV");
+        if (fastMin <= 0 || fastMax < fastMin) throw new IllegalArgumentException("bad fast range " + fastMin + ":" + fastMax);
+        if (slowMin <= 0 || slowMax < slowMin) throw new IllegalArgumentException("bad slow range " + slowMin + ":" + slowMax);
+        this.csvPaths = csvPaths;
+        this.fastMin = fastMin;
+        this.fastMax = fastMax;
+        this.slowMin = slowMin;
+        this.slowMax = slowMax;
+    }
+
+    public int fastCount() { return fastMax - fastMin + 1; }
+    public int slowCount() { return slowMax - slowMin + 1; }
+    public long size()     { return (long) csvPaths.length * fastCount() * slowCount(); }
+
+    public int symbolOf(long id) { return (int) (id / ((long) fastCount() * slowCount())); }
+    public int fastOf(long id)   { return fastMin + (int) (id / slowCount() % fastCount()); }
+    public int slowOf(long id)   { return slowMin + (int) (id % slowCount()); }
+
+    /** Crossover only makes sense with fast < slow; other ids are skipped. */
+    public boolean isValid(long id) { return fastOf(id) < slowOf(id); }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(csvPaths.length);
+        for (String p : csvPaths) out.writeUTF(p);
+        out.writeInt(fastMin);
+        out.writeInt(fastMax);
+        out.writeInt(slowMin);
+        out.writeInt(slowMax);
+    }
+
+    static SweepGrid read(DataInputStream in) throws IOException {
+        String[] paths = new String[in.readInt()];
+        for (int i = 0; i < paths.length; i++) paths[i] = in.readUTF();
+        return new SweepGrid(paths, in.readInt(), in.readInt(), in.readInt(), in.readInt());
+    }
+}
@@ -0,0 +1,28 @@
+package com.kevin.algo.sweep;
+
+/**
+ * SweepProtocol
+ * -------------
+ * Wire format between coordinator and workers (DataInput/DataOutput, big-endian).
+ * Every message starts with a one-byte tag.
+ *
+ *   coordinator → worker
+ *     HELLO  : double cash, fee, slip · SweepGrid
+ *     CHUNK  : int chunkId · long firstJobId · int jobCount
+ *     DONE   : (no payload) worker should exit
+ *
+ *   worker → coordinator
+ *     READY  : (no payload) worker is idle and wants work
+ *     RESULT : int chunkId · int jobCount · jobCount × (double finalEquity, int trades)
+ *
+ * A chunk of 256 jobs is ~3 KB of results; the grid itself is sent once per worker.
+ */
+final class SweepProtocol {
+    static final byte HELLO  = 'H';
+    static final byte CHUNK  = 'C';
+    static final byte DONE   = 'D';
+    static final byte READY  = 'R';
+    static final byte RESULT = 'S';
+
+    private SweepProtocol() {}
+}
@@ -0,0 +1,117 @@
+package com.kevin.algo.sweep;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.kevin.algo.core.Candle;
+import com.kevin.algo.data.CandleArrayFeed;
+import com.kevin.algo.data.CsvDataFeed;
+import com.kevin.algo.engine.BacktestEngine;
+import com.kevin.algo.indicators.SMA;
+import com.kevin.algo.portfolio.Portfolio;
+import com.kevin.algo.strategy.MovingAverageCrossover;
+
+/**
+ * SweepWorker
+ * -----------
+ * Worker JVM for {@link SweepCoordinator}. Connects to the coordinator on localhost,
+ * then loops: READY → CHUNK → run each job → RESULT, until told DONE.
+ *
+ * Each job steps a BacktestEngine.Session over the cached bars: the same per-bar logic as
+ * the CLI, without building the series and equity lists nobody reads here.
+ * Parsed CSVs are kept in a small LRU so consecutive jobs on one symbol parse it once.
+ *
+ * java -cp ... com.kevin.algo.sweep.SweepWorker --port 40123
+ */
+public class SweepWorker {
+
+    private static final int CACHE_SYMBOLS = 4;
+
+    private final SweepGrid grid;
+    private final double cash, fee, slip;
+    private final Map<Integer, Candle[]> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Candle[]> eldest) {
+            return size() > CACHE_SYMBOLS;
+        }
+    };
+
+    SweepWorker(SweepGrid grid, double cash, double fee, double slip) {
+        this.grid = grid;
+        this.cash = cash;
+        this.fee = fee;
+        this.slip = slip;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = -1;
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals("--port")) port = Integer.parseInt(args[i + 1]);
+        }
+        if (port <= 0) throw new IllegalArgumentException("usage: SweepWorker --port N");
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            if (in.readByte() != SweepProtocol.HELLO) throw new IOException("expected HELLO");
+            double cash = in.readDouble(), fee = in.readDouble(), slip = in.readDouble();
+            SweepWorker worker = new SweepWorker(SweepGrid.read(in), cash, fee, slip);
+            worker.serve(in, out);
+        }
+    }
+
+    private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        double[] equity = new double[0];
+        int[] trades = new int[0];
+        while (true) {
+            out.writeByte(SweepProtocol.READY);
+            out.flush();
+
+            byte tag = in.readByte();
+            if (tag == SweepProtocol.DONE) return;
+            if (tag != SweepProtocol.CHUNK) throw new IOException("unexpected message " + tag);
+            int chunkId = in.readInt();
+            long first = in.readLong();
+            int count = in.readInt();
+
+            if (equity.length < count) {
+                equity = new double[count];
+                trades = new int[count];
+            }
+            for (int k = 0; k < count; k++) {
+                long id = first + k;
+                if (!grid.isValid(id)) {
+                    equity[k] = Double.NaN;
+                    trades[k] = 0;
+                    continue;
+                }
+                BacktestEngine.Session run = new BacktestEngine.Session(new SMA(grid.fastOf(id)), new SMA(grid.slowOf(id)),
+                        new MovingAverageCrossover(), new Portfolio(cash, fee, slip));
+                for (Candle c : candles(grid.symbolOf(id))) run.step(c);
+                equity[k] = run.bars() == 0 ? cash : run.portfolio().finalEquity(run.lastClose());
+                trades[k] = run.portfolio().closedTrades().size();
+            }
+
+            out.writeByte(SweepProtocol.RESULT);
+            out.writeInt(chunkId);
+            out.writeInt(count);
+            for (int k = 0; k < count; k++) {
+                out.writeDouble(equity[k]);
+                out.writeInt(trades[k]);
+            }
+        }
+    }
+
+    private Candle[] candles(int symbol) {
+        return cache.computeIfAbsent(symbol, s -> CandleArrayFeed.load(new CsvDataFeed(grid.csvPaths[s])));
+    }
+}
@@ -0,0 +1,113 @@
+package com.kevin.algo.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.kevin.algo.core.Candle;
+import com.kevin.algo.indicators.SMA;
+
+class ResampledViewTest {
+
+    @Test
+    void weekStaysOpenUntilNextWeeksFirstBar() {
+        ResampledView view = ResampledView.weekly();
+        // Mon 2024-01-01 .. Fri 2024-01-05: the Friday close does not finish the week
+        for (int d = 1; d <= 5; d++) {
+            assertFalse(view.accumulate(bar(LocalDate.of(2024, 1, d), d)));
+            assertNull(view.lastClosed(), "week visible on 2024-01-0" + d);
+        }
+        assertEquals(5.0, view.forming().getClose());
+
+        // Tue 2024-01-09 (Monday holiday) opens the next week and only then closes the first
+        assertTrue(view.accumulate(bar(LocalDate.of(2024, 1, 9), 9)));
+        Candle week = view.lastClosed();
+        assertEquals(LocalDate.of(2024, 1, 1), week.getDate());
+        assertEquals(1.0, week.getOpen());
+        assertEquals(5.0, week.getClose());
+        assertEquals(105.0, week.getHigh());
+        assertEquals(0.0, week.getLow());
+        assertEquals(15, week.getVolume());
+        assertEquals(9.0, view.forming().getClose());
+
+        for (int d = 10; d <= 12; d++) {
+            assertFalse(view.accumulate(bar(LocalDate.of(2024, 1, d), d)));
+            assertEquals(LocalDate.of(2024, 1, 1), view.lastClosed().getDate());
+        }
+        assertEquals(1, view.closedCount());
+    }
+
+    @Test
+    void monthStaysOpenUntilNextMonthsFirstBar() {
+        ResampledView view = ResampledView.monthly();
+        for (int d = 2; d <= 31; d++) {
+            assertFalse(view.accumulate(bar(LocalDate.of(2024, 1, d), d)));
+            assertNull(view.lastClosed());
+        }
+        assertTrue(view.accumulate(bar(LocalDate.of(2024, 2, 1), 100)));
+        assertEquals(LocalDate.of(2024, 1, 2), view.lastClosed().getDate());
+        assertEquals(31.0, view.lastClosed().getClose());
+
+        for (int d = 2; d <= 29; d++) {
+            assertFalse(view.accumulate(bar(LocalDate.of(2024, 2, d), 100 + d)));
+            assertEquals(LocalDate.of(2024, 1, 2), view.lastClosed().getDate(), "February leaked on day " + d);
+        }
+        assertTrue(view.accumulate(bar(LocalDate.of(2024, 3, 4), 200)));
+        assertEquals(LocalDate.of(2024, 2, 1), view.lastClosed().getDate());
+        assertEquals(129.0, view.lastClosed().getClose());
+        assertEquals(2, view.closedCount());
+    }
+
+    @Test
+    void barBucketClosesOnItsNthBar() {
+        ResampledView view = ResampledView.everyBars(3);
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        for (int i = 1; i <= 9; i++) {
+            boolean closed = view.accumulate(bar(day.plusDays(i - 1), i));
+            assertEquals(i % 3 == 0, closed, "bar " + i);
+            if (i < 3) {
+                assertNull(view.lastClosed());
+            } else {
+                // last complete bucket, not the one the current bar belongs to
+                Candle last = view.lastClosed();
+                int firstOfBucket = (i / 3 - 1) * 3 + 1;
+                assertEquals(day.plusDays(firstOfBucket - 1), last.getDate());
+                assertEquals(firstOfBucket + 2.0, last.getClose());
+            }
+            if (closed) assertNull(view.forming());
+        }
+        assertEquals(3, view.closedCount());
+    }
+
+    @Test
+    void attachedIndicatorSeesOnlyClosedBuckets() {
+        SMA sma = new SMA(2);
+        ResampledView view = ResampledView.everyBars(2).attach(sma);
+        view.accumulate(bar(LocalDate.of(2024, 1, 1), 1));
+        view.accumulate(bar(LocalDate.of(2024, 1, 2), 2));
+        view.accumulate(bar(LocalDate.of(2024, 1, 3), 3));
+        assertFalse(sma.isReady());
+        view.accumulate(bar(LocalDate.of(2024, 1, 4), 4));
+        assertTrue(sma.isReady());
+        assertEquals(3.0, sma.value());
+    }
+
+    @Test
+    void parseRejectsNonPositiveBarCounts() {
+        assertNull(ResampledView.parse("0"));
+        assertNull(ResampledView.parse("-3"));
+        assertNull(ResampledView.parse("fortnightly"));
+        assertEquals("5bars", ResampledView.parse("5").label());
+        assertEquals("weekly", ResampledView.parse("W").label());
+    }
+
+    /** Close {@code c}, high c + 100, low c - 1, volume c. */
+    private static Candle bar(LocalDate d, double c) {
+        return new Candle(d, c, c + 100, c - 1, c, (long) c);
+    }
+}
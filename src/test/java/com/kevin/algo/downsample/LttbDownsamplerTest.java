@@ -0,0 +1,154 @@
+package com.kevin.algo.downsample;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.kevin.algo.models.EquityPoint;
+
+class LttbDownsamplerTest {
+
+    private static final LocalDate DAY0 = LocalDate.of(2000, 1, 1);
+
+    @Test
+    void matchesTextbookLttbWithoutReservedSlots() {
+        // maxPoints 3 and 4 use every slot for LTTB picks
+        for (int total : new int[] { 5, 10, 57, 1000, 12_345 }) {
+            double[] y = randomWalk(total, total);
+            for (int maxPoints = 3; maxPoints <= 4; maxPoints++) {
+                assertEquals(new ArrayList<>(reference(y, maxPoints)), indices(stream(y, maxPoints)),
+                        "total " + total + ", maxPoints " + maxPoints);
+            }
+        }
+    }
+
+    @Test
+    void matchesTextbookLttbPlusExtremes() {
+        for (int total : new int[] { 50, 1000, 12_345, 100_000 }) {
+            double[] y = randomWalk(total, 31L * total);
+            for (int maxPoints : new int[] { 5, 6, 50, 500 }) {
+                if (total <= maxPoints) continue;
+                TreeSet<Integer> expected = reference(y, maxPoints - 2);
+                expected.add(argMin(y));
+                expected.add(argMax(y));
+                assertEquals(new ArrayList<>(expected), indices(stream(y, maxPoints)),
+                        "total " + total + ", maxPoints " + maxPoints);
+            }
+        }
+    }
+
+    @Test
+    void neverExceedsMaxPointsAndKeepsEnds() {
+        SplittableRandom rnd = new SplittableRandom(5L);
+        for (int round = 0; round < 500; round++) {
+            int total = rnd.nextInt(0, 400);
+            int maxPoints = rnd.nextInt(1, 40);
+            List<Integer> idx = indices(stream(randomWalk(total, round), maxPoints));
+
+            assertTrue(idx.size() <= Math.max(2, maxPoints), total + " points, maxPoints " + maxPoints + " -> " + idx.size());
+            for (int k = 1; k < idx.size(); k++) assertTrue(idx.get(k - 1) < idx.get(k), "not in time order");
+            if (total > 0) {
+                assertEquals(0, idx.get(0));
+                assertEquals(total - 1, idx.get(idx.size() - 1));
+            }
+            if (total <= Math.max(2, maxPoints)) assertEquals(total, idx.size());
+            // the two slots reserved for min/max stay empty when LTTB already picked them
+            else if (maxPoints >= 3) assertTrue(idx.size() >= (maxPoints >= 5 ? maxPoints - 2 : maxPoints));
+        }
+    }
+
+    @Test
+    void keepsGlobalMinAndMax() {
+        double[] y = randomWalk(50_000, 9L);
+        y[123] = -1_000;   // sharp dip and spike that a coarse bucket could hide
+        y[40_001] = 1_000;
+        List<Integer> idx = indices(stream(y, 20));
+        assertTrue(idx.contains(123));
+        assertTrue(idx.contains(40_001));
+    }
+
+    @Test
+    void passesThroughWhenNothingToThin() {
+        double[] y = randomWalk(100, 3L);
+        assertEquals(100, stream(y, 0).size());
+        assertEquals(100, stream(y, -1).size());
+        assertEquals(100, stream(y, 100).size());
+        assertEquals(100, stream(y, 5_000).size());
+    }
+
+    private static List<EquityPoint> stream(double[] y, int maxPoints) {
+        LttbDownsampler d = new LttbDownsampler(y.length, maxPoints);
+        for (int i = 0; i < y.length; i++) d.add(DAY0.plusDays(i), y[i]);
+        return d.finish();
+    }
+
+    private static List<Integer> indices(List<EquityPoint> points) {
+        List<Integer> out = new ArrayList<>();
+        for (EquityPoint p : points) out.add((int) (p.date.toEpochDay() - DAY0.toEpochDay()));
+        return out;
+    }
+
+    /**
+     * Plain whole-array LTTB: first, last, and one point per bucket. Bucket k covers
+     * [floor(k · every) + 1, floor((k + 1) · every) + 1); the last one always ends before the final point.
+     */
+    private static TreeSet<Integer> reference(double[] y, int threshold) {
+        int n = y.length;
+        TreeSet<Integer> out = new TreeSet<>();
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        out.add(0);
+        for (int k = 0; k < threshold - 2; k++) {
+            boolean last = k == threshold - 3;
+            int from = (int) Math.floor(k * every) + 1;
+            int to = last ? n - 1 : (int) Math.floor((k + 1) * every) + 1;
+            int nextTo = last ? n : (int) Math.floor((k + 2) * every) + 1;
+            if (k == threshold - 4) nextTo = n - 1;
+
+            double sumX = 0, sumY = 0;
+            for (int j = to; j < nextTo; j++) { sumX += j; sumY += y[j]; }
+            double cx = sumX / (nextTo - to), cy = sumY / (nextTo - to);
+
+            int best = from;
+            double bestArea = -1;
+            for (int j = from; j < to; j++) {
+                double area = Math.abs((a - cx) * (y[j] - y[a]) - (a - (double) j) * (cy - y[a]));
+                if (area > bestArea) { bestArea = area; best = j; }
+            }
+            out.add(best);
+            a = best;
+        }
+        out.add(n - 1);
+        return out;
+    }
+
+    private static double[] randomWalk(int n, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        double[] y = new double[n];
+        double v = 10_000;
+        for (int i = 0; i < n; i++) {
+            v *= 1.0 + 0.02 * (rnd.nextDouble() - 0.5);
+            y[i] = v;
+        }
+        return y;
+    }
+
+    private static int argMin(double[] y) {
+        int m = 0;
+        for (int i = 1; i < y.length; i++) if (y[i] < y[m]) m = i;
+        return m;
+    }
+
+    private static int argMax(double[] y) {
+        int m = 0;
+        for (int i = 1; i < y.length; i++) if (y[i] > y[m]) m = i;
+        return m;
+    }
+}
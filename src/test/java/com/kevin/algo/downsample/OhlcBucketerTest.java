@@ -0,0 +1,79 @@
+package com.kevin.algo.downsample;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.kevin.algo.models.BarOut;
+
+class OhlcBucketerTest {
+
+    private static final LocalDate DAY0 = LocalDate.of(2000, 1, 1);
+
+    @Test
+    void mergesConsecutiveBarsIntoOhlcBuckets() {
+        SplittableRandom rnd = new SplittableRandom(11L);
+        for (int round = 0; round < 300; round++) {
+            int total = rnd.nextInt(0, 500);
+            int maxPoints = rnd.nextInt(1, 60);
+            List<BarOut> bars = randomBars(total, round);
+            List<BarOut> out = OhlcBucketer.downsample(bars, maxPoints);
+
+            assertTrue(out.size() <= maxPoints || out.size() == total, total + " bars, maxPoints " + maxPoints);
+            int width = total <= maxPoints ? 1 : (total + maxPoints - 1) / maxPoints;
+            for (int b = 0; b < out.size(); b++) {
+                List<BarOut> in = bars.subList(b * width, Math.min(total, (b + 1) * width));
+                BarOut o = out.get(b);
+                BarOut first = in.get(0), last = in.get(in.size() - 1);
+                assertEquals(first.date, o.date);
+                assertEquals(first.open, o.open);
+                assertEquals(last.close, o.close);
+                assertEquals(in.stream().mapToDouble(x -> x.high).max().getAsDouble(), o.high);
+                assertEquals(in.stream().mapToDouble(x -> x.low).min().getAsDouble(), o.low);
+                assertEquals(last.smaFast, o.smaFast);
+                assertEquals(last.smaSlow, o.smaSlow);
+            }
+            assertEquals((total + width - 1) / width, out.size(), "every bar lands in a bucket");
+        }
+    }
+
+    @Test
+    void neverLosesTheExtremes() {
+        List<BarOut> bars = randomBars(300_000, 1L);
+        bars.get(77_777).high = 1e9;
+        bars.get(123_456).low = -1.0;
+        List<BarOut> out = OhlcBucketer.downsample(bars, 1_000);
+        assertEquals(1_000, out.size());
+        assertEquals(1e9, out.stream().mapToDouble(x -> x.high).max().getAsDouble());
+        assertEquals(-1.0, out.stream().mapToDouble(x -> x.low).min().getAsDouble());
+    }
+
+    @Test
+    void passesThroughWhenNothingToThin() {
+        List<BarOut> bars = randomBars(50, 2L);
+        assertEquals(50, OhlcBucketer.downsample(bars, 0).size());
+        assertEquals(50, OhlcBucketer.downsample(bars, 50).size());
+        assertEquals(50, OhlcBucketer.downsample(bars, 51).size());
+    }
+
+    private static List<BarOut> randomBars(int n, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<BarOut> out = new ArrayList<>(n);
+        double px = 100;
+        for (int i = 0; i < n; i++) {
+            double open = px;
+            px *= 1.0 + 0.04 * (rnd.nextDouble() - 0.5);
+            double high = Math.max(open, px) * (1 + 0.01 * rnd.nextDouble());
+            double low = Math.min(open, px) * (1 - 0.01 * rnd.nextDouble());
+            Double fast = i < 3 ? null : px * 0.99;
+            out.add(new BarOut(DAY0.plusDays(i), open, high, low, px, fast, px * 1.01));
+        }
+        return out;
+    }
+}
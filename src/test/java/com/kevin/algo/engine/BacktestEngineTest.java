@@ -0,0 +1,99 @@
+package com.kevin.algo.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.kevin.algo.core.Candle;
+import com.kevin.algo.data.CandleArrayFeed;
+import com.kevin.algo.data.DataFeed;
+import com.kevin.algo.data.SyntheticMarket;
+import com.kevin.algo.indicators.SMA;
+import com.kevin.algo.models.EquityPoint;
+import com.kevin.algo.models.Signal;
+import com.kevin.algo.portfolio.Portfolio;
+import com.kevin.algo.strategy.MovingAverageCrossover;
+
+class BacktestEngineTest {
+
+    private static final double CASH = 10_000.0, FEE = 1.0, SLIP = 0.0005;
+
+    @Test
+    void sessionSteppedByHandMatchesRun() {
+        Candle[] history = CandleArrayFeed.load(new SyntheticMarket(3L).feed(0, 5_000));
+        Portfolio runPf = new Portfolio(CASH, FEE, SLIP);
+        BacktestEngine.Output out = new BacktestEngine().run(new CandleArrayFeed(history),
+                new SMA(5), new SMA(20), new MovingAverageCrossover(), runPf);
+
+        BacktestEngine.Session session = new BacktestEngine.Session(new SMA(5), new SMA(20),
+                new MovingAverageCrossover(), new Portfolio(CASH, FEE, SLIP));
+        List<Signal> signals = new ArrayList<>();
+        for (int i = 0; i < history.length; i++) {
+            Optional<Signal> s = session.step(history[i]);
+            s.ifPresent(signals::add);
+            assertEquals(out.equity.get(i).equity, session.equity(), 0.0, "equity at bar " + i);
+            assertEquals(out.series.get(i).smaFast, session.fast(), "fast SMA at bar " + i);
+            assertEquals(out.series.get(i).smaSlow, session.slow(), "slow SMA at bar " + i);
+        }
+
+        assertTrue(signals.size() > 10, "too few signals to compare: " + signals.size());
+        assertEquals(out.signals.size(), signals.size());
+        for (int k = 0; k < signals.size(); k++) {
+            assertEquals(out.signals.get(k).date, signals.get(k).date);
+            assertEquals(out.signals.get(k).type, signals.get(k).type);
+            assertEquals(out.signals.get(k).price, signals.get(k).price);
+        }
+        assertEquals(out.barsRead, session.bars());
+        assertEquals(out.lastClose, session.lastClose());
+        assertEquals(runPf.finalEquity(out.lastClose), session.portfolio().finalEquity(session.lastClose()), 0.0);
+        assertEquals(runPf.closedTrades().size(), session.portfolio().closedTrades().size());
+    }
+
+    @Test
+    void thinnedOutputStaysWithinMaxPoints() {
+        // short SMAs signal on a large share of bars; none of them may push the output past N
+        Candle[] history = CandleArrayFeed.load(new SyntheticMarket(4L).feed(0, 100_000));
+        BacktestEngine.Output full = run(new CandleArrayFeed(history), 0);
+        BacktestEngine.Output streamed = run(new CandleArrayFeed(history), 1_000);
+        BacktestEngine.Output collected = run(unsized(history), 1_000);
+
+        assertTrue(full.signals.size() > 1_000, "signals: " + full.signals.size());
+        for (BacktestEngine.Output out : List.of(streamed, collected)) {
+            assertTrue(out.series.size() <= 1_000, "series: " + out.series.size());
+            assertTrue(out.equity.size() <= 1_000, "equity: " + out.equity.size());
+            assertEquals(full.signals.size(), out.signals.size());
+            assertEquals(full.barsRead, out.barsRead);
+            assertEquals(full.lastClose, out.lastClose);
+            assertEquals(full.equity.get(full.equity.size() - 1).equity, out.equity.get(out.equity.size() - 1).equity);
+        }
+        // the fallback (no size hint) thins to the same points as the streaming path
+        assertEquals(dates(streamed.equity), dates(collected.equity));
+        assertEquals(streamed.series.size(), collected.series.size());
+    }
+
+    private static BacktestEngine.Output run(DataFeed feed, int maxPoints) {
+        return new BacktestEngine(maxPoints).run(feed, new SMA(3), new SMA(5),
+                new MovingAverageCrossover(), new Portfolio(CASH, FEE, SLIP));
+    }
+
+    /** Same bars, but without a size hint, so the engine has to collect and thin at the end. */
+    private static DataFeed unsized(Candle[] history) {
+        CandleArrayFeed inner = new CandleArrayFeed(history);
+        return new DataFeed() {
+            @Override public boolean hasNext() { return inner.hasNext(); }
+            @Override public Candle next()     { return inner.next(); }
+        };
+    }
+
+    private static List<LocalDate> dates(List<EquityPoint> points) {
+        List<LocalDate> out = new ArrayList<>();
+        for (EquityPoint p : points) out.add(p.date);
+        return out;
+    }
+}
@@ -0,0 +1,127 @@
+package com.kevin.algo.optimize;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.kevin.algo.core.Candle;
+import com.kevin.algo.data.CandleArrayFeed;
+import com.kevin.algo.data.SyntheticMarket;
+import com.kevin.algo.engine.BacktestEngine;
+import com.kevin.algo.indicators.SMA;
+import com.kevin.algo.portfolio.Portfolio;
+import com.kevin.algo.strategy.MovingAverageCrossover;
+
+class SuccessiveHalvingTest {
+
+    private static final double CASH = 10_000.0, FEE = 1.0, SLIP = 0.0005;
+    private static final Candle[] HISTORY = CandleArrayFeed.load(new SyntheticMarket(3L).feed(0, 4_000));
+
+    @Test
+    void trialResumedSpanBySpanMatchesOneFullRun() {
+        Portfolio pf = new Portfolio(CASH, FEE, SLIP);
+        BacktestEngine.Output out = new BacktestEngine().run(new CandleArrayFeed(HISTORY),
+                new SMA(7), new SMA(30), new MovingAverageCrossover(), pf);
+
+        Trial resumed = new Trial(7, 30, CASH, FEE, SLIP);
+        for (int to : new int[] { 17, 1_000, 1_001, 2_500, HISTORY.length }) resumed.advance(HISTORY, to, 0.0);
+        Trial once = new Trial(7, 30, CASH, FEE, SLIP);
+        once.advance(HISTORY, HISTORY.length, 0.0);
+
+        assertEquals(HISTORY.length, resumed.bars());
+        assertEquals(pf.finalEquity(out.lastClose) / CASH - 1.0, resumed.totalReturn(), 0.0);
+        assertEquals(pf.closedTrades().size(), resumed.trades());
+        assertEquals(once.totalReturn(), resumed.totalReturn(), 0.0);
+        assertEquals(once.sharpe(), resumed.sharpe(), 0.0);
+        assertEquals(once.maxDrawdown(), resumed.maxDrawdown(), 0.0);
+    }
+
+    @Test
+    void rungsDoubleUpToTheFullHistory() throws InterruptedException {
+        SuccessiveHalving.Report r = optimizer(Metric.RETURN, 0, 0.0).run(2, 10, 5, 40);
+
+        // floor = 20% of 4,000 bars, so the first cut is on a quarter of the history
+        List<SuccessiveHalving.Rung> rungs = r.rungs;
+        assertEquals(3, rungs.size());
+        assertEquals(HISTORY.length, rungs.get(rungs.size() - 1).budgetBars);
+        long expectedBars = 0;
+        int prevBudget = 0;
+        for (int k = 0; k < rungs.size(); k++) {
+            SuccessiveHalving.Rung rung = rungs.get(k);
+            assertTrue(rung.budgetBars >= SuccessiveHalving.MIN_FIRST_RUNG_FRACTION * HISTORY.length);
+            if (k > 0) {
+                assertEquals(2 * prevBudget, rung.budgetBars);
+                assertEquals(rungs.get(k - 1).promoted, rung.entered);
+            }
+            expectedBars += (long) rung.entered * (rung.budgetBars - prevBudget);
+            prevBudget = rung.budgetBars;
+        }
+        assertEquals(r.configs, rungs.get(0).entered);
+        assertEquals(expectedBars, r.barsSimulated);
+        assertEquals((long) r.configs * HISTORY.length, r.fullGridBars);
+        assertTrue(r.costRatio < 0.5, "costRatio " + r.costRatio);
+        assertEquals((double) r.barsSimulated / r.fullGridBars, r.costRatio, 0.0);
+
+        // every config leaves exactly once: pruned, aborted or the winner
+        assertTrue(r.found);
+        assertEquals(r.configs, r.decisions.size());
+        Set<Long> seen = new HashSet<>();
+        for (SuccessiveHalving.Decision d : r.decisions) assertTrue(seen.add(d.fast * 1_000L + d.slow));
+    }
+
+    @Test
+    void withoutCutsTheWinnerIsTheGridWinner() throws InterruptedException {
+        for (Metric metric : Metric.values()) {
+            SuccessiveHalving opt = optimizer(metric, HISTORY.length, 0.0);
+            SuccessiveHalving.Report r = opt.run(2, 10, 5, 40);
+            SuccessiveHalving.GridReport g = opt.runGrid(2, 10, 5, 40);
+
+            assertEquals(1, r.rungs.size());
+            assertEquals(1.0, r.costRatio, 0.0);
+            assertEquals(g.barsSimulated, r.barsSimulated);
+            assertEquals(g.bestFast, r.bestFast, metric.name());
+            assertEquals(g.bestSlow, r.bestSlow, metric.name());
+            assertEquals(g.bestScore, r.bestScore, 0.0, metric.name());
+        }
+    }
+
+    @Test
+    void abortedTrialsNeverWin() throws InterruptedException {
+        SuccessiveHalving.Report r = optimizer(Metric.RETURN, 0, 0.15).run(2, 10, 5, 40);
+
+        int aborted = 0;
+        Set<Long> abortedIds = new HashSet<>();
+        for (SuccessiveHalving.Decision d : r.decisions) {
+            if (!d.action.equals("aborted")) continue;
+            aborted++;
+            abortedIds.add(d.fast * 1_000L + d.slow);
+            assertTrue(d.bars < HISTORY.length || d.rung == r.rungs.size() - 1);
+        }
+        assertTrue(aborted > 0, "no run crossed the drawdown limit; pick a tighter one");
+        assertEquals(aborted, r.rungs.stream().mapToInt(x -> x.aborted).sum());
+        if (r.found) {
+            assertFalse(abortedIds.contains(r.bestFast * 1_000L + r.bestSlow));
+            assertTrue(r.bestMaxDrawdownPct <= 15.0);
+        }
+    }
+
+    @Test
+    void rejectsRangesWithoutValidConfigs() {
+        SuccessiveHalving opt = optimizer(Metric.RETURN, 0, 0.0);
+        assertThrows(IllegalArgumentException.class, () -> opt.run(0, 3, 5, 10));
+        assertThrows(IllegalArgumentException.class, () -> opt.run(2, 4, 8, 5));
+        assertThrows(IllegalArgumentException.class, () -> opt.run(5, 8, 2, 5));
+        assertThrows(IllegalArgumentException.class, () -> opt.runGrid(0, 3, 5, 10));
+    }
+
+    private static SuccessiveHalving optimizer(Metric metric, int minBars, double maxDd) {
+        return new SuccessiveHalving(HISTORY, CASH, FEE, SLIP, metric, 3, minBars, maxDd, 2);
+    }
+}
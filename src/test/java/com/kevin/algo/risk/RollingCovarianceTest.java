@@ -0,0 +1,102 @@
+package com.kevin.algo.risk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class RollingCovarianceTest {
+
+    private static final double TOL = 1e-12;
+
+    @Test
+    void matchesNaiveThroughEvictionsAndRebuilds() {
+        // 6 windows: fill, plain evictions, and several rebuilds (every `window` evictions)
+        checkAgainstNaive(12, 10, 60, 0.0, 1L);
+    }
+
+    @Test
+    void treatsMissingReturnsAsZero() {
+        checkAgainstNaive(12, 10, 45, 0.15, 2L);
+    }
+
+    @Test
+    void parallelPathMatchesNaive() {
+        // at or above PARALLEL_MIN_ASSETS rows are updated in blocks
+        checkAgainstNaive(140, 8, 30, 0.05, 3L);
+    }
+
+    @Test
+    void notReadyUntilWindowIsFull() {
+        RollingCovariance cov = new RollingCovariance(3, 4);
+        assertTrue(Double.isNaN(cov.covariance(0, 1)));
+        cov.update(new double[] { 0.01, 0.02, 0.03 });
+        assertTrue(Double.isNaN(cov.covariance(0, 1)));
+        for (int t = 0; t < 3; t++) cov.update(new double[] { 0.01 * t, -0.02 * t, 0.005 });
+        assertTrue(cov.isReady());
+        assertEquals(4, cov.count());
+    }
+
+    /**
+     * Feeds {@code bars} random bars (a fraction {@code nanRate} of them NaN) and, after every
+     * update, compares the full matrix and an equal-weight portfolio variance with a from-scratch
+     * computation over the same window.
+     */
+    private static void checkAgainstNaive(int assets, int window, int bars, double nanRate, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        RollingCovariance cov = new RollingCovariance(assets, window);
+        List<double[]> history = new ArrayList<>();
+        double[] w = new double[assets];
+        Arrays.fill(w, 1.0 / assets);
+
+        for (int t = 0; t < bars; t++) {
+            double[] r = new double[assets];
+            for (int i = 0; i < assets; i++) {
+                // per-asset drift so the mean term matters
+                r[i] = rnd.nextDouble() < nanRate ? Double.NaN : 0.001 * (i % 5) + 0.02 * (rnd.nextDouble() - 0.5);
+            }
+            cov.update(r);
+            history.add(r);
+
+            List<double[]> win = history.subList(Math.max(0, history.size() - window), history.size());
+            assertEquals(win.size(), cov.count());
+            if (win.size() < 2) continue;
+
+            double[][] naive = naiveCovariance(win, assets);
+            double naiveVar = 0;
+            for (int i = 0; i < assets; i++) {
+                for (int j = 0; j < assets; j++) {
+                    assertEquals(naive[i][j], cov.covariance(i, j), TOL, "bar " + t + " (" + i + "," + j + ")");
+                    naiveVar += w[i] * w[j] * naive[i][j];
+                }
+            }
+            assertEquals(naiveVar, cov.portfolioVariance(w), TOL, "portfolio variance at bar " + t);
+        }
+    }
+
+    private static double[][] naiveCovariance(List<double[]> win, int assets) {
+        int m = win.size();
+        double[] mean = new double[assets];
+        for (double[] r : win) {
+            for (int i = 0; i < assets; i++) mean[i] += clean(r[i]) / m;
+        }
+        double[][] out = new double[assets][assets];
+        for (int i = 0; i < assets; i++) {
+            for (int j = 0; j < assets; j++) {
+                double acc = 0;
+                for (double[] r : win) acc += (clean(r[i]) - mean[i]) * (clean(r[j]) - mean[j]);
+                out[i][j] = acc / (m - 1);
+            }
+        }
+        return out;
+    }
+
+    private static double clean(double x) {
+        return Double.isNaN(x) ? 0.0 : x;
+    }
+}
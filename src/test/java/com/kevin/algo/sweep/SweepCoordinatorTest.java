@@ -0,0 +1,82 @@
+package com.kevin.algo.sweep;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.kevin.algo.core.Candle;
+import com.kevin.algo.data.CandleArrayFeed;
+import com.kevin.algo.data.CsvDataFeed;
+import com.kevin.algo.data.SyntheticMarket;
+import com.kevin.algo.engine.BacktestEngine;
+import com.kevin.algo.indicators.SMA;
+import com.kevin.algo.portfolio.Portfolio;
+import com.kevin.algo.strategy.MovingAverageCrossover;
+
+class SweepCoordinatorTest {
+
+    private static final double CASH = 10_000.0, FEE = 1.0, SLIP = 0.0005;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @Timeout(value = 120, unit = TimeUnit.SECONDS)
+    void survivesWorkerKilledMidChunk() throws Exception {
+        int symbols = 3, workers = 3;
+        new SyntheticMarket(7L).writeCsvDirectory(dir, symbols, 20_000);
+        String[] csvs = new String[symbols];
+        for (int s = 0; s < symbols; s++) csvs[s] = dir.resolve(SyntheticMarket.symbolName(s) + ".csv").toString();
+
+        // small chunks so plenty are still queued when a worker goes down
+        SweepGrid grid = new SweepGrid(csvs, 2, 11, 12, 41);
+        SweepCoordinator coordinator = new SweepCoordinator(grid, CASH, FEE, SLIP);
+        ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            Future<SweepCoordinator.Report> run = exec.submit(() -> coordinator.run(workers, 5));
+
+            // once every worker holds a chunk, any child we kill dies mid-chunk
+            while (coordinator.chunksInFlight() < workers) {
+                assertFalse(run.isDone(), "sweep finished before every worker was busy");
+                Thread.sleep(5);
+            }
+            List<ProcessHandle> children = ProcessHandle.current().children()
+                    .filter(p -> p.info().commandLine().orElse("").contains(SweepWorker.class.getName()))
+                    .toList();
+            assertEquals(workers, children.size());
+            children.get(0).destroyForcibly();
+
+            SweepCoordinator.Report report = run.get();
+            assertTrue(report.workersLost >= 1, "workersLost = " + report.workersLost);
+            assertTrue(report.chunksRequeued >= 1, "chunksRequeued = " + report.chunksRequeued);
+
+            // every job must match a plain single-process run
+            Candle[][] history = new Candle[symbols][];
+            for (int s = 0; s < symbols; s++) history[s] = CandleArrayFeed.load(new CsvDataFeed(csvs[s]));
+            for (long id = 0; id < grid.size(); id++) {
+                if (!grid.isValid(id)) {
+                    assertTrue(Double.isNaN(report.finalEquity[(int) id]));
+                    continue;
+                }
+                Portfolio pf = new Portfolio(CASH, FEE, SLIP);
+                BacktestEngine.Output out = new BacktestEngine().run(new CandleArrayFeed(history[grid.symbolOf(id)]),
+                        new SMA(grid.fastOf(id)), new SMA(grid.slowOf(id)), new MovingAverageCrossover(), pf);
+                assertEquals(pf.finalEquity(out.lastClose), report.finalEquity[(int) id], 0.0, "job " + id);
+                assertEquals(pf.closedTrades().size(), report.trades[(int) id], "job " + id);
+            }
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+}